@@ -0,0 +1,55 @@
+package com.example.podcat.benchmark;
+
+import com.example.podcat.model.Role;
+import com.example.podcat.security.JwtService;
+import com.example.podcat.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Issuing a token, and verifying one that is cached against one whose signature has to be
+ * checked: the uncached service keeps a single entry and cycles through more tokens than that.
+ */
+@State(Scope.Benchmark)
+public class JwtBenchmarks {
+
+    static final String SECRET = "a-benchmark-secret-that-is-long-enough-for-hs256";
+    private static final int TOKENS = 1_024;
+
+    private JwtService cached;
+    private JwtService uncached;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(SECRET, 3_600_000, 100_000, new SimpleMeterRegistry());
+        uncached = new JwtService(SECRET, 3_600_000, 1, new SimpleMeterRegistry());
+        tokens = IntStream.range(0, TOKENS)
+                .mapToObj(i -> cached.generateToken("user" + i, Set.of(Role.USER)))
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public String generate() {
+        return cached.generateToken("user1", Set.of(Role.USER));
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyCached() {
+        return cached.verify(tokens[0]);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyUncached() {
+        next = (next + 1) % TOKENS;
+        return uncached.verify(tokens[next]);
+    }
+}
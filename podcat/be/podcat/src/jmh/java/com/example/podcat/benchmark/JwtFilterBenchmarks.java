@@ -0,0 +1,68 @@
+package com.example.podcat.benchmark;
+
+import com.example.podcat.model.Role;
+import com.example.podcat.security.JwtFilter;
+import com.example.podcat.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Set;
+
+/** One authenticated request through {@link JwtFilter} and on to the rest of the chain. */
+@State(Scope.Benchmark)
+public class JwtFilterBenchmarks {
+
+    private JwtFilter filter;
+    private String authorization;
+    private String invalidAuthorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtBenchmarks.SECRET, 3_600_000, 100_000, new SimpleMeterRegistry());
+        filter = new JwtFilter(jwtService);
+        String token = jwtService.generateToken("alice", Set.of(Role.USER));
+        authorization = "Bearer " + token;
+        invalidAuthorization = "Bearer " + token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void validToken(Blackhole blackhole) throws Exception {
+        filter(authorization, blackhole);
+    }
+
+    @Benchmark
+    public void invalidToken(Blackhole blackhole) throws Exception {
+        filter(invalidAuthorization, blackhole);
+    }
+
+    @Benchmark
+    public void anonymous(Blackhole blackhole) throws Exception {
+        filter(null, blackhole);
+    }
+
+    // A request is only filtered once, so each call needs a new one.
+    private void filter(String header, Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/podcasts");
+        if (header != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, header);
+        }
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+    }
+}
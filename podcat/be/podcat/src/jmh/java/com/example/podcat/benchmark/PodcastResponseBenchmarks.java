@@ -0,0 +1,84 @@
+package com.example.podcat.benchmark;
+
+import com.example.podcat.SyntheticCatalog;
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.dto.PageResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.service.PodcastHydrator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Hydrating a page of podcasts into responses, and writing that page as JSON, at several page
+ * sizes. The category and liked caches are loaded from in-memory repositories once in setup,
+ * so the measured calls never leave memory, as on a warm server.
+ */
+@State(Scope.Benchmark)
+public class PodcastResponseBenchmarks {
+
+    @Param({"1", "20", "100"})
+    public int pageSize;
+
+    private PodcastHydrator hydrator;
+    private ObjectMapper mapper;
+    private PageImpl<Podcast> page;
+    private PageResponse<PodcastResponse> response;
+
+    @Setup
+    public void setUp() {
+        List<Podcast> podcasts = new SyntheticCatalog(7, 50_000).podcasts(pageSize);
+        CategoryRepository categories = mock(CategoryRepository.class);
+        when(categories.findAll()).thenReturn(IntStream.range(0, 20)
+                .mapToObj(i -> Category.builder().id("category" + i).name("Category " + i).build())
+                .toList());
+        FavoriteRepository favorites = mock(FavoriteRepository.class);
+        when(favorites.findPodcastIdsByUserId("alice")).thenReturn(podcasts.stream()
+                .filter(podcast -> podcast.getLikeCount() % 2 == 0)
+                .map(podcast -> Favorite.builder().userId("alice").podcastId(podcast.getId()).build())
+                .toList());
+
+        CategoryCache categoryCache = new CategoryCache(categories, new SimpleMeterRegistry());
+        categoryCache.findAll();
+        LikedPodcastIndex likedIndex = new LikedPodcastIndex(favorites, new SimpleMeterRegistry(), 1 << 20, 60_000);
+        likedIndex.likedBy("alice");
+
+        hydrator = new PodcastHydrator(categoryCache, likedIndex);
+        mapper = new ObjectMapper().findAndRegisterModules();
+        page = new PageImpl<>(podcasts, PageRequest.of(0, pageSize), 10_000);
+        response = hydrator.toPageResponse(page, "alice");
+    }
+
+    @Benchmark
+    public PageResponse<PodcastResponse> hydrate() {
+        return hydrator.toPageResponse(page, "alice");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] hydrateAndSerialize() throws Exception {
+        return mapper.writeValueAsBytes(hydrator.toPageResponse(page, "alice"));
+    }
+}
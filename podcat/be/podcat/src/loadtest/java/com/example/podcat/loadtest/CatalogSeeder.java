@@ -0,0 +1,116 @@
+package com.example.podcat.loadtest;
+
+import com.example.podcat.SyntheticCatalog;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.model.Role;
+import com.example.podcat.model.User;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Fills an empty database with a synthetic catalog and the users who listen to it: every
+ * user has favorites and a listening history spread over the catalog. Users share one
+ * password hash, since encoding one per user would take longer than the seeding itself.
+ */
+class CatalogSeeder {
+
+    static final int CATEGORIES = 20;
+    static final String PASSWORD = "loadtest";
+    private static final int BATCH = 1_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final SyntheticCatalog catalog;
+
+    CatalogSeeder(MongoTemplate mongoTemplate, SyntheticCatalog catalog) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalog = catalog;
+    }
+
+    static String username(int i) {
+        return "listener" + i;
+    }
+
+    static String podcastId(int i) {
+        return String.format("%024x", i);
+    }
+
+    void seed(int podcasts, int users, int favoritesPerUser, int historyPerUser) {
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(Category.builder()
+                    .id("category" + i)
+                    .name(catalog.words(2))
+                    .description(catalog.words(10))
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        mongoTemplate.insert(categories, Category.class);
+
+        List<Podcast> podcastBatch = new ArrayList<>(BATCH);
+        for (int i = 0; i < podcasts; i++) {
+            podcastBatch.add(catalog.podcast(i));
+            if (podcastBatch.size() == BATCH) {
+                mongoTemplate.insert(podcastBatch, Podcast.class);
+                podcastBatch.clear();
+            }
+        }
+        mongoTemplate.insert(podcastBatch, Podcast.class);
+
+        String password = new BCryptPasswordEncoder().encode(PASSWORD);
+        Random random = catalog.random();
+        Instant now = Instant.now();
+        List<User> userBatch = new ArrayList<>(BATCH);
+        List<Favorite> favoriteBatch = new ArrayList<>(BATCH);
+        List<ListeningHistory> historyBatch = new ArrayList<>(BATCH);
+        for (int u = 0; u < users; u++) {
+            String username = username(u);
+            userBatch.add(User.builder().username(username).password(password).roles(Set.of(Role.USER)).build());
+            Set<Integer> liked = new HashSet<>();
+            while (liked.size() < Math.min(favoritesPerUser, podcasts)) {
+                liked.add(random.nextInt(podcasts));
+            }
+            for (int podcast : liked) {
+                favoriteBatch.add(Favorite.builder()
+                        .userId(username)
+                        .podcastId(podcastId(podcast))
+                        .createdAt(now.minusSeconds(random.nextInt(90 * 86_400)))
+                        .build());
+            }
+            Set<Integer> listened = new HashSet<>();
+            while (listened.size() < Math.min(historyPerUser, podcasts)) {
+                listened.add(random.nextInt(podcasts));
+            }
+            for (int podcast : listened) {
+                historyBatch.add(ListeningHistory.builder()
+                        .userId(username)
+                        .podcastId(podcastId(podcast))
+                        .listenedAt(now.minusSeconds(random.nextInt(30 * 86_400)))
+                        .progress(random.nextInt(3_600))
+                        .build());
+            }
+            if (userBatch.size() >= BATCH / 10) {
+                flush(userBatch, favoriteBatch, historyBatch);
+            }
+        }
+        flush(userBatch, favoriteBatch, historyBatch);
+    }
+
+    private void flush(List<User> users, List<Favorite> favorites, List<ListeningHistory> history) {
+        mongoTemplate.insert(users, User.class);
+        mongoTemplate.insert(favorites, Favorite.class);
+        mongoTemplate.insert(history, ListeningHistory.class);
+        users.clear();
+        favorites.clear();
+        history.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.podcat.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The requests a listener makes, weighted by how often the app makes them: mostly browsing
+ * and opening podcasts, a heartbeat every few seconds while one plays, searching now and
+ * then, and rarely a like.
+ */
+enum Endpoint {
+
+    BROWSE("GET /api/podcasts", 35) {
+        @Override
+        HttpRequest.Builder request(URI base, Listener listener) {
+            return HttpRequest.newBuilder(base.resolve("/api/podcasts?page=" + listener.browsePage() + "&size=20"));
+        }
+    },
+    DETAIL("GET /api/podcasts/{id}", 20) {
+        @Override
+        HttpRequest.Builder request(URI base, Listener listener) {
+            return HttpRequest.newBuilder(base.resolve("/api/podcasts/" + listener.anyPodcast()));
+        }
+    },
+    SEARCH("GET /api/podcasts/search", 15) {
+        @Override
+        HttpRequest.Builder request(URI base, Listener listener) {
+            String keyword = URLEncoder.encode(listener.keyword(), StandardCharsets.UTF_8);
+            return HttpRequest.newBuilder(base.resolve("/api/podcasts/search?keyword=" + keyword));
+        }
+    },
+    PROGRESS("POST /api/history", 25) {
+        @Override
+        HttpRequest.Builder request(URI base, Listener listener) {
+            String body = "{\"podcastId\":\"" + listener.playing() + "\",\"progress\":" + listener.heartbeat() + "}";
+            return HttpRequest.newBuilder(base.resolve("/api/history"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    TOGGLE_FAVORITE("POST /api/favorites/{id}", 5) {
+        @Override
+        HttpRequest.Builder request(URI base, Listener listener) {
+            return HttpRequest.newBuilder(base.resolve("/api/favorites/" + listener.anyPodcast()))
+                    .POST(HttpRequest.BodyPublishers.noBody());
+        }
+    };
+
+    private static final Endpoint[] VALUES = values();
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Endpoint endpoint : VALUES) {
+            total += endpoint.weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    abstract HttpRequest.Builder request(URI base, Listener listener);
+
+    /** An endpoint drawn by weight, from a uniform sample in [0, 1). */
+    static Endpoint pick(double sample) {
+        int target = (int) (sample * TOTAL_WEIGHT);
+        for (Endpoint endpoint : VALUES) {
+            target -= endpoint.weight;
+            if (target < 0) {
+                return endpoint;
+            }
+        }
+        return VALUES[VALUES.length - 1];
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.podcat.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated listener: its token, what it is playing, and the latencies it saw. Each
+ * listener runs on its own thread and records into its own histograms, which are merged once
+ * the run is over, so recording never contends.
+ */
+class Listener {
+
+    private static final int HEARTBEAT_SECONDS = 15;
+    private static final int MAX_BROWSE_PAGE = 50;
+
+    private final String token;
+    private final Random random;
+    private final int podcasts;
+    private final String[] keywords;
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, long[]> errors = new EnumMap<>(Endpoint.class);
+
+    private String playing;
+    private int progress;
+
+    Listener(String token, Random random, int podcasts, String[] keywords) {
+        this.token = token;
+        this.random = random;
+        this.podcasts = podcasts;
+        this.keywords = keywords;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new Histogram(3));
+            errors.put(endpoint, new long[1]);
+        }
+        play();
+    }
+
+    String token() {
+        return token;
+    }
+
+    Endpoint next() {
+        return Endpoint.pick(random.nextDouble());
+    }
+
+    // Most listeners stay on the first pages.
+    int browsePage() {
+        double u = random.nextDouble();
+        return (int) (u * u * Math.min(MAX_BROWSE_PAGE, Math.max(1, podcasts / 20)));
+    }
+
+    String anyPodcast() {
+        return CatalogSeeder.podcastId(random.nextInt(podcasts));
+    }
+
+    String keyword() {
+        return keywords[random.nextInt(keywords.length)];
+    }
+
+    String playing() {
+        return playing;
+    }
+
+    /**
+     * The position to report for the podcast {@link #playing()}; now and then the listener moves
+     * on to another afterwards.
+     */
+    int heartbeat() {
+        progress += HEARTBEAT_SECONDS;
+        int reported = progress;
+        if (random.nextInt(40) == 0) {
+            play();
+        }
+        return reported;
+    }
+
+    void record(Endpoint endpoint, long micros, boolean failed) {
+        latencies.get(endpoint).recordValue(micros);
+        if (failed) {
+            errors.get(endpoint)[0]++;
+        }
+    }
+
+    Histogram latencies(Endpoint endpoint) {
+        return latencies.get(endpoint);
+    }
+
+    long errors(Endpoint endpoint) {
+        return errors.get(endpoint)[0];
+    }
+
+    private void play() {
+        playing = anyPodcast();
+        progress = 0;
+    }
+}
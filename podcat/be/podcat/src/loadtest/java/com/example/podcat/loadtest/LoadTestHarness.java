@@ -0,0 +1,220 @@
+package com.example.podcat.loadtest;
+
+import com.example.podcat.PodcatApplication;
+import com.example.podcat.SyntheticCatalog;
+import com.example.podcat.model.Role;
+import com.example.podcat.security.JwtService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the whole app against an in-memory Mongo, seeds it, and drives it over HTTP with
+ * closed-loop listeners mixing browsing, search, progress heartbeats and likes (see
+ * {@link Endpoint}). Needs no network and no running Mongo. Prints throughput and latency
+ * percentiles per endpoint and writes each endpoint's HDR histogram to
+ * {@code loadtest-results/<time>/}, where two runs can be plotted against each other.
+ *
+ * <p>Sized by the {@code loadtest.*} system properties, which the {@code loadtest} profile
+ * passes on: {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.clients=500}.
+ *
+ * <p>The in-memory server answers the queries the app sends but has no query planner, so
+ * absolute latencies are not Mongo's; compare runs of this harness with each other, not with
+ * production.
+ */
+public final class LoadTestHarness {
+
+    private static final long SEED = 42;
+    private static final int KEYWORDS = 10_000;
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongo.bind();
+        String mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/podcat";
+        try {
+            SyntheticCatalog catalog = new SyntheticCatalog(SEED, 50_000);
+            long seeding = System.nanoTime();
+            try (MongoClient client = MongoClients.create(mongoUri)) {
+                new CatalogSeeder(new MongoTemplate(client, "podcat"), catalog)
+                        .seed(settings.podcasts(), settings.users(), settings.favoritesPerUser(), settings.historyPerUser());
+            }
+            System.out.printf("Seeded %d podcasts and %d users in %d ms%n", settings.podcasts(), settings.users(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seeding));
+
+            try (ConfigurableApplicationContext app = boot(mongoUri, settings)) {
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                String[] keywords = new String[KEYWORDS];
+                for (int i = 0; i < KEYWORDS; i++) {
+                    keywords[i] = catalog.word();
+                }
+                JwtService jwtService = app.getBean(JwtService.class);
+                List<Listener> listeners = new ArrayList<>(settings.clients());
+                for (int i = 0; i < settings.clients(); i++) {
+                    String token = jwtService.generateToken(CatalogSeeder.username(i % settings.users()), Set.of(Role.USER));
+                    listeners.add(new Listener(token, new Random(SEED + i), settings.podcasts(), keywords));
+                }
+                run(URI.create("http://localhost:" + port), listeners, settings);
+                report(listeners, settings);
+            }
+        } finally {
+            mongo.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(String mongoUri, Settings settings) {
+        // Devtools would restart the app in a new class loader, calling this main again.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command-line arguments, so that a local application.properties cannot point the app elsewhere.
+        return new SpringApplicationBuilder(PodcatApplication.class).run(
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--spring.data.mongodb.database=podcat",
+                "--server.port=0",
+                "--jwt.secret=" + UUID.randomUUID() + UUID.randomUUID(),
+                "--jwt.expiration=" + TimeUnit.DAYS.toMillis(1),
+                "--cloudinary.cloud-name=loadtest",
+                "--cloudinary.api-key=loadtest",
+                "--cloudinary.api-secret=loadtest",
+                "--podcat.mongo.verify-plans=false",
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                "--logging.level.root=WARN");
+    }
+
+    private static void run(URI base, List<Listener> listeners, Settings settings) {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        System.out.printf("Warming up %d listeners for %d s, then measuring for %d s (virtual threads %s)%n",
+                listeners.size(), settings.warmupSeconds(), settings.durationSeconds(),
+                settings.virtualThreads() ? "on" : "off");
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Listener listener : listeners) {
+                clients.execute(() -> listen(http, base, listener, measureFrom, end));
+            }
+        }
+    }
+
+    private static void listen(HttpClient http, URI base, Listener listener, long measureFrom, long end) {
+        while (System.nanoTime() < end) {
+            Endpoint endpoint = listener.next();
+            HttpRequest request = endpoint.request(base, listener)
+                    .header("Authorization", "Bearer " + listener.token())
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            long started = System.nanoTime();
+            boolean failed;
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= end) {
+                listener.record(endpoint, TimeUnit.NANOSECONDS.toMicros(finished - started), failed);
+            }
+        }
+    }
+
+    private static void report(List<Listener> listeners, Settings settings) throws IOException {
+        Map<Endpoint, Histogram> merged = new EnumMap<>(Endpoint.class);
+        Histogram all = new Histogram(3);
+        long totalErrors = 0;
+        System.out.printf("%n%-26s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = new Histogram(3);
+            long errors = 0;
+            for (Listener listener : listeners) {
+                histogram.add(listener.latencies(endpoint));
+                errors += listener.errors(endpoint);
+            }
+            merged.put(endpoint, histogram);
+            all.add(histogram);
+            totalErrors += errors;
+            printRow(endpoint.label(), histogram, errors, settings.durationSeconds());
+        }
+        printRow("all", all, totalErrors, settings.durationSeconds());
+
+        Path results = Path.of("loadtest-results", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(results);
+        for (Map.Entry<Endpoint, Histogram> entry : merged.entrySet()) {
+            writeHistogram(results.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm"), entry.getValue());
+        }
+        writeHistogram(results.resolve("all.hgrm"), all);
+        System.out.printf("%nHistograms written to %s%n", results.toAbsolutePath());
+    }
+
+    private static void printRow(String label, Histogram histogram, long errors, int seconds) {
+        long count = histogram.getTotalCount();
+        System.out.printf("%-26s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label, count, errors, (double) count / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                count == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    // Recorded in microseconds, written in milliseconds.
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    record Settings(int clients, int warmupSeconds, int durationSeconds, int podcasts, int users,
+                    int favoritesPerUser, int historyPerUser, boolean virtualThreads) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.clients", 200),
+                    Integer.getInteger("loadtest.warmup-seconds", 15),
+                    Integer.getInteger("loadtest.duration-seconds", 60),
+                    Integer.getInteger("loadtest.podcasts", 20_000),
+                    Integer.getInteger("loadtest.users", 2_000),
+                    Integer.getInteger("loadtest.favorites-per-user", 20),
+                    Integer.getInteger("loadtest.history-per-user", 20),
+                    Boolean.getBoolean("loadtest.virtual-threads"));
+        }
+    }
+}
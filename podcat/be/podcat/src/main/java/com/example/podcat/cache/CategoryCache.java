@@ -0,0 +1,185 @@
+package com.example.podcat.cache;
+
+import com.example.podcat.model.Category;
+import com.example.podcat.repository.CategoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process snapshot of the whole {@code categories} collection. Readers never lock: they
+ * read an immutable, versioned map that is swapped on every category write, and a scheduled
+ * refresh rebuilds it from Mongo to pick up writes made by other nodes.
+ */
+@Component
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer rebuilds;
+
+    public CategoryCache(CategoryRepository categoryRepository, MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.hits = Counter.builder("podcat.cache.lookups")
+                .tag("cache", "categories").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("podcat.cache.lookups")
+                .tag("cache", "categories").tag("result", "miss")
+                .register(meterRegistry);
+        this.rebuilds = Timer.builder("podcat.cache.rebuilds")
+                .tag("cache", "categories")
+                .register(meterRegistry);
+        Gauge.builder("podcat.cache.size", snapshot, ref -> ref.get() == null ? 0 : ref.get().byId().size())
+                .tag("cache", "categories")
+                .register(meterRegistry);
+        Gauge.builder("podcat.cache.version", snapshot, ref -> ref.get() == null ? 0 : ref.get().version())
+                .tag("cache", "categories")
+                .register(meterRegistry);
+    }
+
+    public List<Category> findAll() {
+        return List.copyOf(current().byId().values());
+    }
+
+    public Optional<Category> findById(String id) {
+        Category category = current().byId().get(id);
+        if (category == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(category);
+    }
+
+    public String findName(String id) {
+        return findById(id).map(Category::getName).orElse(null);
+    }
+
+    public long version() {
+        return current().version();
+    }
+
+    /** Strong ETag of {@link #findAll()}: a digest of every category in order, so equal on every node. */
+    public String etag() {
+        return current().etag();
+    }
+
+    public void put(Category category) {
+        update(byId -> byId.put(category.getId(), copyOf(category)));
+    }
+
+    public void remove(String id) {
+        update(byId -> byId.remove(id));
+    }
+
+    @Scheduled(fixedDelayString = "${podcat.cache.categories.refresh-ms:300000}")
+    public void refresh() {
+        writeLock.lock();
+        try {
+            rebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+
+        writeLock.lock();
+        try {
+            current = snapshot.get();
+            return current != null ? current : rebuild();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Callers hold writeLock, so a rebuild never overwrites a concurrent put/remove.
+    private Snapshot rebuild() {
+        return rebuilds.record(() -> {
+            Map<String, Category> byId = new LinkedHashMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                byId.put(category.getId(), copyOf(category));
+            }
+            return swap(byId);
+        });
+    }
+
+    private void update(Consumer<Map<String, Category>> change) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot.get();
+            if (current == null) {
+                return; // the first read loads everything, including this write
+            }
+            Map<String, Category> byId = new LinkedHashMap<>(current.byId());
+            change.accept(byId);
+            swap(byId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Snapshot swap(Map<String, Category> byId) {
+        Snapshot previous = snapshot.get();
+        Snapshot next = new Snapshot(previous == null ? 1 : previous.version() + 1,
+                Collections.unmodifiableMap(byId), digest(byId.values()));
+        snapshot.set(next);
+        return next;
+    }
+
+    private static Category copyOf(Category category) {
+        return Category.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .imageUrl(category.getImageUrl())
+                .version(category.getVersion())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+
+    private static String digest(Collection<Category> categories) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Category category : categories) {
+            for (Object field : new Object[]{category.getId(), category.getName(), category.getDescription(),
+                    category.getImageUrl(), category.getVersion()}) {
+                sha256.update(String.valueOf(field).getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+        }
+        return HexFormat.of().formatHex(sha256.digest(), 0, 16);
+    }
+
+    private record Snapshot(long version, Map<String, Category> byId, String etag) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.podcat.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate totals for paginated listings, so {@code totalElements} does not cost a count
+ * query on every page. Keys are {@code listing} or {@code listing:filter} (for example
+ * {@code favorites:alice}); entries expire after {@code podcat.cache.counts.ttl-ms} and are
+ * invalidated by the services on writes that change them.
+ *
+ * <p>Every count a listing needed is recorded as {@code podcat.mongo.counts} tagged with how
+ * it was served: {@code executed}, {@code cached}, or {@code skipped} for count-free slices.
+ */
+@Component
+public class CountCache {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Bumped on every invalidation, so a count that raced with a write is not cached.
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CountCache(MeterRegistry meterRegistry,
+                      @Value("${podcat.cache.counts.ttl-ms:60000}") long ttlMillis,
+                      @Value("${podcat.cache.counts.max-entries:10000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        Gauge.builder("podcat.cache.size", entries, Map::size)
+                .tag("cache", "counts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Turns a slice into a page. The last page needs no count, since its offset and size give the
+     * total; for any other page the count comes from the cache, or from {@code countQuery}.
+     */
+    public <T> Page<T> page(Slice<T> slice, String key, LongSupplier countQuery) {
+        Pageable pageable = slice.getPageable();
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() && (pageable.isUnpaged() || pageable.getOffset() == 0 || !content.isEmpty())) {
+            skipped(key);
+            long total = pageable.isUnpaged() ? content.size() : pageable.getOffset() + content.size();
+            return new PageImpl<>(content, pageable, total);
+        }
+        return new PageImpl<>(content, pageable, count(key, countQuery));
+    }
+
+    public long count(String key, LongSupplier countQuery) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.expiresAt() > now) {
+                record(key, "cached");
+                return cached.count();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long invalidation = invalidations.get();
+        long count = countQuery.getAsLong();
+        record(key, "executed");
+
+        lock.lock();
+        try {
+            if (invalidations.get() == invalidation) {
+                entries.put(key, new Entry(count, now + ttlMillis));
+                if (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return count;
+    }
+
+    /** Records a count the caller did not need at all, such as for a count-free slice. */
+    public void skipped(String key) {
+        record(key, "skipped");
+    }
+
+    public void invalidate(String key) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drops every count of the listing, whatever its filter. */
+    public void invalidateListing(String listing) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            entries.keySet().removeIf(key -> key.equals(listing) || key.startsWith(listing + ":"));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(String key, String outcome) {
+        int separator = key.indexOf(':');
+        String listing = separator < 0 ? key : key.substring(0, separator);
+        counters.computeIfAbsent(listing + '/' + outcome, k -> Counter.builder("podcat.mongo.counts")
+                        .tag("listing", listing).tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private record Entry(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.podcat.cache;
+
+import com.example.podcat.model.Favorite;
+import com.example.podcat.repository.FavoriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user set of favorited podcast ids, loaded lazily from {@link FavoriteRepository} and kept
+ * in sync by {@code FavoriteService.toggleFavorite}. Least recently used users are evicted once
+ * the estimated size of all sets exceeds {@code podcat.cache.liked.budget-bytes}.
+ *
+ * <p>A toggle only reaches the node that served it, so every set is reloaded
+ * {@code podcat.cache.liked.ttl-ms} after it was loaded: a like made on another node shows
+ * here within that long. Applying a local toggle does not extend the set's life.
+ */
+@Component
+public class LikedPodcastIndex {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int STRIPES = 64;
+
+    private final FavoriteRepository favoriteRepository;
+    private final long budgetBytes;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+
+    // Bumped on every toggle, so a load that raced with a toggle of the same user is not cached.
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter expirations;
+
+    @Autowired
+    public LikedPodcastIndex(FavoriteRepository favoriteRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${podcat.cache.liked.budget-bytes:33554432}") long budgetBytes,
+                             @Value("${podcat.cache.liked.ttl-ms:60000}") long ttlMillis) {
+        this(favoriteRepository, meterRegistry, budgetBytes, ttlMillis, System::currentTimeMillis);
+    }
+
+    // The clock gives epoch milliseconds; tests move it instead of waiting for sets to expire.
+    LikedPodcastIndex(FavoriteRepository favoriteRepository, MeterRegistry meterRegistry,
+                      long budgetBytes, long ttlMillis, LongSupplier clock) {
+        this.favoriteRepository = favoriteRepository;
+        this.budgetBytes = budgetBytes;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.hits = Counter.builder("podcat.cache.lookups")
+                .tag("cache", "liked").tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("podcat.cache.lookups")
+                .tag("cache", "liked").tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("podcat.cache.evictions")
+                .tag("cache", "liked")
+                .register(meterRegistry);
+        this.expirations = Counter.builder("podcat.cache.expirations")
+                .tag("cache", "liked")
+                .register(meterRegistry);
+        Gauge.builder("podcat.cache.bytes", this, index -> index.usedBytes)
+                .tag("cache", "liked")
+                .register(meterRegistry);
+        Gauge.builder("podcat.cache.size", entries, Map::size)
+                .tag("cache", "liked")
+                .register(meterRegistry);
+    }
+
+    public PodcastIdSet likedBy(String userId) {
+        if (userId == null) {
+            return PodcastIdSet.EMPTY;
+        }
+
+        lock.lock();
+        try {
+            Entry cached = entries.get(userId);
+            if (cached != null) {
+                if (cached.expiresAt() > clock.getAsLong()) {
+                    hits.increment();
+                    return cached.set();
+                }
+                remove(userId, cached);
+                expirations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+        List<String> podcastIds = favoriteRepository.findPodcastIdsByUserId(userId).stream()
+                .map(Favorite::getPodcastId)
+                .toList();
+        PodcastIdSet loaded = PodcastIdSet.of(podcastIds);
+
+        lock.lock();
+        try {
+            if (generations.get(stripe) == generation && !entries.containsKey(userId)) {
+                store(userId, new Entry(loaded, clock.getAsLong() + ttlMillis));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    public boolean isLiked(String userId, String podcastId) {
+        return likedBy(userId).contains(podcastId);
+    }
+
+    public void onToggle(String userId, String podcastId, boolean liked) {
+        lock.lock();
+        try {
+            generations.incrementAndGet(stripe(userId));
+            Entry current = entries.get(userId);
+            if (current != null) {
+                remove(userId, current);
+                PodcastIdSet set = liked ? current.set().with(podcastId) : current.set().without(podcastId);
+                store(userId, new Entry(set, current.expiresAt()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String userId, Entry entry) {
+        entries.put(userId, entry);
+        usedBytes += weight(userId, entry);
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            usedBytes -= weight(evicted.getKey(), evicted.getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(String userId, Entry entry) {
+        entries.remove(userId);
+        usedBytes -= weight(userId, entry);
+    }
+
+    private static long weight(String userId, Entry entry) {
+        return ENTRY_OVERHEAD_BYTES + 2L * userId.length() + entry.set().estimatedBytes();
+    }
+
+    private static int stripe(String userId) {
+        return (userId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+
+    private record Entry(PodcastIdSet set, long expiresAt) {
+    }
+}
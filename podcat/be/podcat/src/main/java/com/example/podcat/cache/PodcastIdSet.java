@@ -0,0 +1,168 @@
+package com.example.podcat.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable, compact set of podcast ids. Canonical 24-character ObjectId hex strings are
+ * packed into 12 bytes each (a {@code long} and an {@code int}) and kept sorted for binary
+ * search; any other id shape falls back to a sorted {@code String[]}.
+ */
+public final class PodcastIdSet {
+
+    public static final PodcastIdSet EMPTY = new PodcastIdSet(new long[0], new int[0], new String[0]);
+
+    private final long[] high;
+    private final int[] low;
+    private final String[] others;
+
+    private PodcastIdSet(long[] high, int[] low, String[] others) {
+        this.high = high;
+        this.low = low;
+        this.others = others;
+    }
+
+    public static PodcastIdSet of(Collection<String> ids) {
+        List<long[]> packed = new ArrayList<>(ids.size());
+        List<String> others = new ArrayList<>();
+        for (String id : ids) {
+            if (id == null) {
+                continue;
+            }
+            if (isObjectId(id)) {
+                packed.add(new long[]{parseHex(id, 0, 16), parseHex(id, 16, 24)});
+            } else {
+                others.add(id);
+            }
+        }
+
+        packed.sort((a, b) -> compare(a[0], (int) a[1], b[0], (int) b[1]));
+        long[] high = new long[packed.size()];
+        int[] low = new int[packed.size()];
+        int size = 0;
+        for (long[] id : packed) {
+            if (size > 0 && high[size - 1] == id[0] && low[size - 1] == (int) id[1]) {
+                continue;
+            }
+            high[size] = id[0];
+            low[size] = (int) id[1];
+            size++;
+        }
+
+        String[] sortedOthers = others.stream().distinct().sorted().toArray(String[]::new);
+        return new PodcastIdSet(Arrays.copyOf(high, size), Arrays.copyOf(low, size), sortedOthers);
+    }
+
+    public boolean contains(String id) {
+        if (id == null) {
+            return false;
+        }
+        if (isObjectId(id)) {
+            return indexOf(parseHex(id, 0, 16), (int) parseHex(id, 16, 24)) >= 0;
+        }
+        return Arrays.binarySearch(others, id) >= 0;
+    }
+
+    public PodcastIdSet with(String id) {
+        if (id == null || contains(id)) {
+            return this;
+        }
+        if (!isObjectId(id)) {
+            String[] next = Arrays.copyOf(others, others.length + 1);
+            next[others.length] = id;
+            Arrays.sort(next);
+            return new PodcastIdSet(high, low, next);
+        }
+
+        long h = parseHex(id, 0, 16);
+        int l = (int) parseHex(id, 16, 24);
+        int at = -indexOf(h, l) - 1;
+        long[] nextHigh = new long[high.length + 1];
+        int[] nextLow = new int[low.length + 1];
+        System.arraycopy(high, 0, nextHigh, 0, at);
+        System.arraycopy(low, 0, nextLow, 0, at);
+        nextHigh[at] = h;
+        nextLow[at] = l;
+        System.arraycopy(high, at, nextHigh, at + 1, high.length - at);
+        System.arraycopy(low, at, nextLow, at + 1, low.length - at);
+        return new PodcastIdSet(nextHigh, nextLow, others);
+    }
+
+    public PodcastIdSet without(String id) {
+        if (id == null || !contains(id)) {
+            return this;
+        }
+        if (!isObjectId(id)) {
+            return new PodcastIdSet(high, low, Arrays.stream(others)
+                    .filter(other -> !other.equals(id))
+                    .toArray(String[]::new));
+        }
+
+        int at = indexOf(parseHex(id, 0, 16), (int) parseHex(id, 16, 24));
+        long[] nextHigh = new long[high.length - 1];
+        int[] nextLow = new int[low.length - 1];
+        System.arraycopy(high, 0, nextHigh, 0, at);
+        System.arraycopy(low, 0, nextLow, 0, at);
+        System.arraycopy(high, at + 1, nextHigh, at, high.length - at - 1);
+        System.arraycopy(low, at + 1, nextLow, at, low.length - at - 1);
+        return new PodcastIdSet(nextHigh, nextLow, others);
+    }
+
+    public int size() {
+        return high.length + others.length;
+    }
+
+    public long estimatedBytes() {
+        // object header + three array headers, then the payload of each array
+        long bytes = 16 + 3 * 16 + high.length * 8L + low.length * 4L + others.length * 4L;
+        for (String other : others) {
+            bytes += 40 + other.length();
+        }
+        return bytes;
+    }
+
+    private int indexOf(long h, int l) {
+        int from = 0;
+        int to = high.length - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int cmp = compare(high[mid], low[mid], h, l);
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(from + 1);
+    }
+
+    private static int compare(long h1, int l1, long h2, int l2) {
+        int cmp = Long.compare(h1, h2);
+        return cmp != 0 ? cmp : Integer.compare(l1, l2);
+    }
+
+    private static boolean isObjectId(String id) {
+        if (id.length() != 24) {
+            return false;
+        }
+        for (int i = 0; i < 24; i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHex(String id, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = (value << 4) | Character.digit(id.charAt(i), 16);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.podcat.config;
+
+import com.example.podcat.model.Podcast;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on our documents. Spring Boot leaves automatic index creation
+ * off, and the request paths rely on these indexes to seek instead of scanning.
+ *
+ * <p>Every {@link Document} in the model package is provisioned, so declaring an index on a
+ * document is all it takes. Indexes that already exist are skipped, which makes a restart cheap;
+ * one that exists under the same name with a different definition is logged and left alone
+ * rather than dropped. Afterwards the hot query shapes are explained and any that still scan a
+ * collection are logged as errors, unless {@code podcat.mongo.verify-plans} is off.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexProvisioner {
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryPlanVerifier queryPlanVerifier;
+
+    @Value("${podcat.mongo.verify-plans:true}")
+    private boolean verifyPlans;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        int created = provision();
+        if (created > 0) {
+            log.info("Created {} indexes", created);
+        }
+        if (verifyPlans) {
+            queryPlanVerifier.findCollectionScans().forEach(query ->
+                    log.error("Query '{}' scans the whole collection; declare an index for it", query));
+        }
+    }
+
+    /** Creates the declared indexes that do not exist yet, and returns how many it created. */
+    public int provision() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        int created = 0;
+        for (Class<?> document : indexedDocuments()) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                String name = index.getIndexOptions().getString("name");
+                if (name != null && existing.contains(name)) {
+                    continue;
+                }
+                try {
+                    indexOps.ensureIndex(index);
+                    created++;
+                } catch (DataAccessException e) {
+                    log.warn("Could not create index {} on {}", index.getIndexOptions(), document.getSimpleName(), e);
+                }
+            }
+        }
+        return created;
+    }
+
+    static List<Class<?>> indexedDocuments() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+        return scanner.findCandidateComponents(Podcast.class.getPackageName()).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .sorted()
+                .<Class<?>>map(name -> ClassUtils.resolveClassName(name, IndexProvisioner.class.getClassLoader()))
+                .toList();
+    }
+}
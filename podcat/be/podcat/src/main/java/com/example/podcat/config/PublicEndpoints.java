@@ -0,0 +1,15 @@
+package com.example.podcat.config;
+
+import java.util.List;
+
+/**
+ * Paths served without a login by code that is only compiled in with its build profile. Such
+ * code declares a bean of this type next to its controllers, and {@link SecurityConfig} permits
+ * the paths only in builds that include it.
+ */
+@FunctionalInterface
+public interface PublicEndpoints {
+
+    /** Request matcher patterns, such as {@code /api/reactive/**}. */
+    List<String> patterns();
+}
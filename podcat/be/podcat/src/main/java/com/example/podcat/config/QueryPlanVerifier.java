@@ -0,0 +1,87 @@
+package com.example.podcat.config;
+
+import com.example.podcat.model.Comment;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Playlist;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.model.S3Configuration;
+import com.example.podcat.model.User;
+import com.example.podcat.model.UserProfile;
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explains the queries the request paths run and reports those whose winning plan still
+ * scans a whole collection. The shapes are written as Mongo receives them from the
+ * repositories, with placeholder values; the plan does not depend on the values.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanVerifier {
+
+    static final List<QueryShape> HOT_QUERIES = List.of(
+            new QueryShape("latest podcasts", Podcast.class, "{}", "{ 'createdAt': -1, '_id': -1 }"),
+            new QueryShape("podcasts by category", Podcast.class, "{ 'categoryId': 'c' }", "{}"),
+            new QueryShape("podcasts by category, newest first", Podcast.class, "{ 'categoryId': 'c' }", "{ 'createdAt': -1, '_id': -1 }"),
+            new QueryShape("favorite of user and podcast", Favorite.class, "{ 'userId': 'u', 'podcastId': 'p' }", "{}"),
+            new QueryShape("favorites of user", Favorite.class, "{ 'userId': 'u' }", "{ 'createdAt': -1, '_id': -1 }"),
+            new QueryShape("history of user", ListeningHistory.class, "{ 'userId': 'u' }", "{ 'listenedAt': -1, '_id': -1 }"),
+            new QueryShape("history of user and podcast", ListeningHistory.class, "{ 'userId': 'u', 'podcastId': 'p' }", "{}"),
+            new QueryShape("comments of podcast", Comment.class, "{ 'podcastId': 'p' }", "{ 'createdAt': -1, '_id': -1 }"),
+            new QueryShape("user by username", User.class, "{ 'username': 'u' }", "{}"),
+            new QueryShape("profile of user", UserProfile.class, "{ 'userId': 'u' }", "{}"),
+            new QueryShape("playlists of user", Playlist.class, "{ 'userId': 'u' }", "{}"),
+            new QueryShape("active S3 configuration of user", S3Configuration.class, "{ 'userId': 'u', 'isActive': true }", "{}"),
+            new QueryShape("latest active S3 configuration", S3Configuration.class, "{ 'isActive': true }", "{ '_id': -1 }")
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    /** Names of the hot queries whose winning plan contains a COLLSCAN stage. */
+    public List<String> findCollectionScans() {
+        List<String> scans = new ArrayList<>();
+        for (QueryShape query : HOT_QUERIES) {
+            try {
+                Document explained = mongoTemplate.getCollection(mongoTemplate.getCollectionName(query.document()))
+                        .find(Document.parse(query.filter()))
+                        .sort(Document.parse(query.sort()))
+                        .limit(20)
+                        .explain(ExplainVerbosity.QUERY_PLANNER);
+                Document planner = explained.get("queryPlanner", Document.class);
+                if (planner != null && containsCollectionScan(planner.get("winningPlan"))) {
+                    scans.add(query.name());
+                }
+            } catch (MongoException e) {
+                log.warn("Could not explain query '{}'", query.name(), e);
+            }
+        }
+        return scans;
+    }
+
+    // Plans nest their stages under inputStage(s), queryPlan (slot-based engine) or shards.
+    static boolean containsCollectionScan(Object plan) {
+        if (plan instanceof Document stage) {
+            if ("COLLSCAN".equals(stage.get("stage"))) {
+                return true;
+            }
+            return stage.values().stream().anyMatch(QueryPlanVerifier::containsCollectionScan);
+        }
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(QueryPlanVerifier::containsCollectionScan);
+        }
+        return false;
+    }
+
+    record QueryShape(String name, Class<?> document, String filter, String sort) {
+    }
+}
@@ -3,6 +3,7 @@ package com.example.podcat.config;
 import com.example.podcat.security.JwtFilter;
 import com.example.podcat.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.*;
@@ -25,23 +26,31 @@ public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
     private final UserService userService;
+    private final ObjectProvider<PublicEndpoints> publicEndpoints;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        // Only paths of the optional modules compiled into this build, e.g. /api/reactive with -Preactive.
+        String[] modulePaths = publicEndpoints.orderedStream()
+                .flatMap(endpoints -> endpoints.patterns().stream())
+                .toArray(String[]::new);
         return http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-                .authorizeHttpRequests(auth -> auth
-                    .requestMatchers("/api/auth/**",
-                                     "/swagger-ui/**",
-                                     "/swagger-ui.html",
-                                     "/v3/api-docs/**",
-                                     "/api/upload/**",
-                                     "/api/podcasts/**",
-                                     "/api/categories/**",
-                                     "/api/users/**").permitAll()
-                    .anyRequest().authenticated()
-                )
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers("/api/auth/**",
+                                         "/swagger-ui/**",
+                                         "/swagger-ui.html",
+                                         "/v3/api-docs/**",
+                                         "/api/upload/**",
+                                         "/api/podcasts/**",
+                                         "/api/categories/**",
+                                         "/api/users/**").permitAll();
+                    if (modulePaths.length > 0) {
+                        auth.requestMatchers(modulePaths).permitAll();
+                    }
+                    auth.anyRequest().authenticated();
+                })
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
                 .userDetailsService(userService)
@@ -65,6 +74,7 @@ public class SecurityConfig {
         config.setAllowedMethods(List.of("*"));
         config.setAllowedHeaders(List.of("*"));
         config.setAllowCredentials(true);
+        config.setExposedHeaders(List.of("ETag", "Last-Modified", "X-Next-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
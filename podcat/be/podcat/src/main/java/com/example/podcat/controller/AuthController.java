@@ -4,6 +4,7 @@ import com.example.podcat.dto.*;
 import com.example.podcat.model.*;
 import com.example.podcat.repository.UserRepository;
 import com.example.podcat.security.JwtService;
+import com.example.podcat.security.RoleCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ public class AuthController {
     private final UserRepository userRepo;
     private final PasswordEncoder encoder;
     private final JwtService jwtService;
+    private final RoleCache roleCache;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
@@ -39,6 +41,7 @@ public class AuthController {
                 .build();
 
         userRepo.save(user);
+        roleCache.invalidate(user.getUsername());
         var token = jwtService.generateToken(user.getUsername(), user.getRoles());
 
         return ResponseEntity.ok(new AuthResponse(token));
@@ -52,6 +55,7 @@ public class AuthController {
         );
 
         var user = userRepo.findByUsername(req.getUsername()).get();
+        roleCache.invalidate(user.getUsername());
         var token = jwtService.generateToken(user.getUsername(), user.getRoles());
 
         return ResponseEntity.ok(new AuthResponse(token));
@@ -11,8 +11,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,11 +35,13 @@ public class CategoryController {
                 responseCode = "200", 
                 description = "List of categories",
                 content = @Content(schema = @Schema(implementation = CategoryResponse.class))
-            )
+            ),
+            @ApiResponse(responseCode = "304", description = "Categories unchanged since If-None-Match")
         }
     )
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest request) {
+        return ConditionalResponses.ok(request, categoryService.getAllCategoriesVersion(), CacheControl.noCache(),
+                categoryService::getAllCategories);
     }
 
     @GetMapping("/{id}")
@@ -50,12 +54,15 @@ public class CategoryController {
                 description = "Category found",
                 content = @Content(schema = @Schema(implementation = CategoryResponse.class))
             ),
+            @ApiResponse(responseCode = "304", description = "Category unchanged since If-None-Match or If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Category not found")
         }
     )
     public ResponseEntity<CategoryResponse> getCategoryById(
-            @Parameter(description = "Category ID") @PathVariable String id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+            @Parameter(description = "Category ID") @PathVariable String id,
+            WebRequest request) {
+        return ConditionalResponses.ok(request, categoryService.getCategoryVersion(id), CacheControl.noCache(),
+                () -> categoryService.getCategoryById(id));
     }
 
     @PostMapping
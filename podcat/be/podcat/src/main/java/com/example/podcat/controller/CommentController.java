@@ -2,44 +2,70 @@ package com.example.podcat.controller;
 
 import com.example.podcat.dto.CommentRequest;
 import com.example.podcat.dto.CommentResponse;
-import com.example.podcat.security.JwtService;
+import com.example.podcat.dto.CursorPageResponse;
+import com.example.podcat.security.CurrentUser;
 import com.example.podcat.service.PodcastService;
+import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/podcasts/{podcastId}/comments")
 @RequiredArgsConstructor
 public class CommentController {
 
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final PodcastService podcastService;
-    private final JwtService jwtService;
 
     @PostMapping
     public ResponseEntity<CommentResponse> addComment(
             @PathVariable String podcastId,
             @RequestBody CommentRequest request,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         CommentResponse comment = podcastService.addComment(podcastId, userId, request.getContent());
         return ResponseEntity.ok(comment);
     }
 
     @GetMapping
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable String podcastId) {
-        List<CommentResponse> comments = podcastService.getComments(podcastId);
-        return ResponseEntity.ok(comments);
+    @Operation(summary = "Get comments, newest first",
+               description = "Pass cursor (empty for the first page) to page by nextCursor. Without it the response is a bare "
+                       + "list of at most the newest 200 comments; when more exist, the " + NEXT_CURSOR + " header holds "
+                       + "the cursor that continues after them")
+    public ResponseEntity<?> getComments(
+            @PathVariable String podcastId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        if (cursor != null) {
+            return ResponseEntity.ok(podcastService.getComments(podcastId, cursor, size));
+        }
+        CursorPageResponse<CommentResponse> comments = podcastService.getComments(podcastId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (comments.isHasNext()) {
+            response.header(NEXT_CURSOR, comments.getNextCursor());
+        }
+        return response.body(comments.getContent());
     }
     
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamComments(@PathVariable String podcastId) {
+        return podcastService.streamComments(podcastId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+
     @DeleteMapping("/{commentId}")
     public ResponseEntity<Void> deleteComment(
             @PathVariable String podcastId,
             @PathVariable String commentId,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         podcastService.deleteComment(commentId, userId);
         return ResponseEntity.noContent().build();
     }
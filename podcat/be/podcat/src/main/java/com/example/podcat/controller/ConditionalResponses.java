@@ -0,0 +1,84 @@
+package com.example.podcat.controller;
+
+import com.example.podcat.service.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for a resource whose version is cheaper to get than its body: when the
+ * request's If-None-Match or If-Modified-Since still matches, the answer is a 304 and the body
+ * is never built or serialized. A version without validators is always answered in full.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, ResourceVersion version, CacheControl cacheControl,
+                                    Supplier<T> body, String... vary) {
+        boolean notModified = request.checkNotModified(version.etag(), version.lastModifiedMillis());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .cacheControl(cacheControl)
+                .varyBy(vary);
+        if (version.etag() != null) {
+            response.eTag(version.etag());
+        }
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        return notModified ? response.build() : response.body(body.get());
+    }
+
+    /**
+     * A 304 when the request is conditional and its validators still match {@code current}, for
+     * a resource whose body and version come from the same expensive call: the caller only makes
+     * that call when this is empty. Requests without validators never ask for {@code current}.
+     */
+    static <T> Optional<ResponseEntity<T>> notModified(WebRequest request, Supplier<ResourceVersion> current,
+                                                       CacheControl cacheControl, String... vary) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            return Optional.empty();
+        }
+        ResourceVersion version = current.get();
+        // Matched by hand first: checkNotModified also writes the validators to the response,
+        // which must not happen when the full response follows with its own.
+        boolean matches = ifNoneMatch != null
+                ? version.etag() != null && etagMatches(ifNoneMatch, version.etag())
+                : version.lastModified() != null && notModifiedSince(ifModifiedSince, version.lastModifiedMillis());
+        if (!matches) {
+            return Optional.empty();
+        }
+        return Optional.of(ok(request, version, cacheControl, () -> null, vary));
+    }
+
+    // HTTP dates have whole seconds.
+    private static boolean notModifiedSince(String ifModifiedSince, long lastModifiedMillis) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+        long since = headers.getIfModifiedSince();
+        return since >= 0 && lastModifiedMillis / 1000 <= since / 1000;
+    }
+
+    // If-None-Match compares weakly, so a W/ prefix is ignored.
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        String quoted = '"' + etag + '"';
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
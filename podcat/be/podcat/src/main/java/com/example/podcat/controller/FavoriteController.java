@@ -1,8 +1,6 @@
 package com.example.podcat.controller;
 
-import com.example.podcat.dto.PageResponse;
-import com.example.podcat.dto.PodcastResponse;
-import com.example.podcat.security.JwtService;
+import com.example.podcat.security.CurrentUser;
 import com.example.podcat.service.FavoriteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -16,13 +14,11 @@ import org.springframework.web.bind.annotation.*;
 public class FavoriteController {
 
     private final FavoriteService favoriteService;
-    private final JwtService jwtService;
 
     @PostMapping("/{podcastId}")
     public ResponseEntity<Void> toggleFavorite(
             @PathVariable String podcastId,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         favoriteService.toggleFavorite(userId, podcastId);
         return ResponseEntity.ok().build();
     }
@@ -30,18 +26,24 @@ public class FavoriteController {
     @GetMapping("/{podcastId}")
     public ResponseEntity<Boolean> isFavorite(
             @PathVariable String podcastId,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         return ResponseEntity.ok(favoriteService.isFavorite(userId, podcastId));
     }
 
     @GetMapping
-    public ResponseEntity<PageResponse<PodcastResponse>> getMyFavorites(
+    public ResponseEntity<?> getMyFavorites(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count,
+            @CurrentUser String userId) {
+        if (cursor != null) {
+            return ResponseEntity.ok(favoriteService.getUserFavorites(userId, cursor, size));
+        }
         Pageable pageable = PageRequest.of(page, size);
+        if (!count) {
+            return ResponseEntity.ok(favoriteService.getUserFavoritesSlice(userId, pageable));
+        }
         return ResponseEntity.ok(favoriteService.getUserFavorites(userId, pageable));
     }
 }
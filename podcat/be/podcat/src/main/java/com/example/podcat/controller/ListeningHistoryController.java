@@ -1,9 +1,7 @@
 package com.example.podcat.controller;
 
 import com.example.podcat.dto.ListeningHistoryRequest;
-import com.example.podcat.dto.ListeningHistoryResponse;
-import com.example.podcat.dto.PageResponse;
-import com.example.podcat.security.JwtService;
+import com.example.podcat.security.CurrentUser;
 import com.example.podcat.service.ListeningHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -17,23 +15,29 @@ import org.springframework.web.bind.annotation.*;
 public class ListeningHistoryController {
 
     private final ListeningHistoryService listeningHistoryService;
-    private final JwtService jwtService;
 
     @PostMapping
-    public ResponseEntity<ListeningHistoryResponse> saveProgress(
+    public ResponseEntity<Void> saveProgress(
             @RequestBody ListeningHistoryRequest request,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
-        return ResponseEntity.ok(listeningHistoryService.saveProgress(userId, request));
+            @CurrentUser String userId) {
+        listeningHistoryService.saveProgress(userId, request);
+        return ResponseEntity.accepted().build();
     }
 
     @GetMapping
-    public ResponseEntity<PageResponse<ListeningHistoryResponse>> getMyHistory(
+    public ResponseEntity<?> getMyHistory(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count,
+            @CurrentUser String userId) {
+        if (cursor != null) {
+            return ResponseEntity.ok(listeningHistoryService.getUserHistory(userId, cursor, size));
+        }
         Pageable pageable = PageRequest.of(page, size);
+        if (!count) {
+            return ResponseEntity.ok(listeningHistoryService.getUserHistorySlice(userId, pageable));
+        }
         return ResponseEntity.ok(listeningHistoryService.getUserHistory(userId, pageable));
     }
 }
@@ -0,0 +1,26 @@
+package com.example.podcat.controller;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page requests from query parameters as clients send them: a negative page reads the first,
+ * and the size is kept between one and {@value #MAX_SIZE}, so no request can ask for the whole
+ * catalog or fail on a bad number.
+ */
+public final class PageRequests {
+
+    public static final int MAX_SIZE = 100;
+
+    private PageRequests() {
+    }
+
+    public static Pageable of(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), cursorSize(size));
+    }
+
+    /** The size clamp alone, for cursor pages. */
+    public static int cursorSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+}
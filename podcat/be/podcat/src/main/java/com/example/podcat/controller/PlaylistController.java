@@ -1,7 +1,7 @@
 package com.example.podcat.controller;
 
 import com.example.podcat.dto.*;
-import com.example.podcat.security.JwtService;
+import com.example.podcat.security.CurrentUser;
 import com.example.podcat.service.PlaylistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -14,13 +14,11 @@ import java.util.List;
 public class PlaylistController {
 
     private final PlaylistService playlistService;
-    private final JwtService jwtService;
 
     @PostMapping
     public PlaylistResponse create(
             @RequestBody PlaylistRequest request,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUserId(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         return playlistService.create(userId, request.getName());
     }
 
@@ -33,8 +31,7 @@ public class PlaylistController {
 
     @GetMapping("/my")
     public List<PlaylistResponse> getMyPlaylists(
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUserId(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         return playlistService.getByUser(userId);
     }
 }
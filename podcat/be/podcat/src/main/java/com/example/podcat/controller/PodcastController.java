@@ -1,16 +1,22 @@
 package com.example.podcat.controller;
 
 import com.example.podcat.dto.*;
-import com.example.podcat.security.JwtService;
+import com.example.podcat.security.CurrentUser;
+import com.example.podcat.service.PodcastDetail;
 import com.example.podcat.service.PodcastService;
+import com.example.podcat.service.PodcastView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/podcasts")
@@ -18,8 +24,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Podcasts", description = "Podcast management API")
 public class PodcastController {
 
+    // Public endpoints: a page is capped here rather than trusted to the caller.
     private final PodcastService service;
-    private final JwtService jwtService;
 
     @PostMapping
     @Operation(
@@ -28,64 +34,105 @@ public class PodcastController {
     )
     public ResponseEntity<PodcastResponse> create(
             @RequestBody PodcastRequest request,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         return ResponseEntity.ok(service.create(userId, request));
     }
 
     @GetMapping
-    @Operation(summary = "Get all podcasts")
-    public ResponseEntity<PageResponse<PodcastResponse>> getAll(
+    @Operation(summary = "Get all podcasts",
+               description = "Pass cursor (empty for the first page) to page newest-first by nextCursor instead of by page number. "
+                       + "Pass fields=summary for catalog cards (id, title, author, imageUrl, duration) only")
+    public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader(value = "Authorization", required = false) String auth) {
-        String userId = null;
-        if (auth != null && auth.startsWith("Bearer ")) {
-            userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String fields,
+            @CurrentUser(required = false) String userId) {
+        boolean summary = PodcastView.parse(fields) == PodcastView.SUMMARY;
+        if (cursor != null) {
+            return ResponseEntity.ok(summary
+                    ? service.getLatestSummaries(cursor, PageRequests.cursorSize(size))
+                    : service.getLatest(userId, cursor, PageRequests.cursorSize(size)));
+        }
+        Pageable pageable = PageRequests.of(page, size);
+        if (summary) {
+            return ResponseEntity.ok(count ? service.getAllSummaries(pageable) : service.getAllSummariesSlice(pageable));
+        }
+        if (!count) {
+            return ResponseEntity.ok(service.getAllSlice(userId, pageable));
         }
-        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(service.getAll(userId, pageable));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get podcast by ID")
+    @Operation(summary = "Get podcast by ID",
+               description = "Includes the caller's listening progress and the author's profile. "
+                       + "Supports If-None-Match, and If-Modified-Since for anonymous requests; answers 304 when unchanged")
     public ResponseEntity<PodcastResponse> getById(
             @PathVariable String id,
-            @RequestHeader(value = "Authorization", required = false) String auth) {
-        String userId = null;
-        if (auth != null && auth.startsWith("Bearer ")) {
-            userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
-        }
-        return ResponseEntity.ok(service.getById(id, userId));
+            @CurrentUser(required = false) String userId,
+            WebRequest request) {
+        // isLiked and listeningProgress make the body depend on the caller, so it varies by Authorization.
+        CacheControl cacheControl = userId != null ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+        // A request that still matches is answered from the version alone, before any detail lookup.
+        return ConditionalResponses.<PodcastResponse>notModified(request, () -> service.getVersion(id, userId),
+                        cacheControl, HttpHeaders.AUTHORIZATION)
+                .orElseGet(() -> {
+                    PodcastDetail detail = service.getDetail(id, userId);
+                    return ConditionalResponses.ok(request, detail.version(), cacheControl,
+                            detail::response, HttpHeaders.AUTHORIZATION);
+                });
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search podcasts")
-    public ResponseEntity<PageResponse<PodcastResponse>> search(
+    public ResponseEntity<?> search(
             @RequestParam String keyword,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader(value = "Authorization", required = false) String auth) {
-        String userId = null;
-        if (auth != null && auth.startsWith("Bearer ")) {
-            userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String fields,
+            @CurrentUser(required = false) String userId) {
+        Pageable pageable = PageRequests.of(page, size);
+        if (PodcastView.parse(fields) == PodcastView.SUMMARY) {
+            return ResponseEntity.ok(count
+                    ? service.searchSummaries(keyword, fuzzy, pageable)
+                    : service.searchSummariesSlice(keyword, fuzzy, pageable));
+        }
+        if (!count) {
+            return ResponseEntity.ok(service.searchSlice(keyword, fuzzy, userId, pageable));
         }
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(service.search(keyword, userId, pageable));
+        return ResponseEntity.ok(service.search(keyword, fuzzy, userId, pageable));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete podcast titles, authors, categories and tags")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.suggest(prefix, limit));
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get podcasts by category")
-    public ResponseEntity<PageResponse<PodcastResponse>> getByCategory(
+    public ResponseEntity<?> getByCategory(
             @PathVariable String categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader(value = "Authorization", required = false) String auth) {
-        String userId = null;
-        if (auth != null && auth.startsWith("Bearer ")) {
-            userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String fields,
+            @CurrentUser(required = false) String userId) {
+        Pageable pageable = PageRequests.of(page, size);
+        if (PodcastView.parse(fields) == PodcastView.SUMMARY) {
+            return ResponseEntity.ok(count
+                    ? service.getSummariesByCategory(categoryId, pageable)
+                    : service.getSummariesByCategorySlice(categoryId, pageable));
+        }
+        if (!count) {
+            return ResponseEntity.ok(service.getByCategorySlice(categoryId, userId, pageable));
         }
-        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(service.getByCategory(categoryId, userId, pageable));
     }
 
@@ -96,8 +143,7 @@ public class PodcastController {
     )
     public ResponseEntity<Void> delete(
             @PathVariable String id,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         service.delete(id, userId);
         return ResponseEntity.noContent().build();
     }
@@ -110,23 +156,28 @@ public class PodcastController {
     public ResponseEntity<PodcastResponse> update(
             @PathVariable String id,
             @RequestBody PodcastRequest request,
-            @RequestHeader("Authorization") String auth) {
-        String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @CurrentUser String userId) {
         return ResponseEntity.ok(service.update(id, userId, request));
     }
 
     @GetMapping("/author/{author}")
     @Operation(summary = "Get podcasts by author")
-    public ResponseEntity<PageResponse<PodcastResponse>> getByAuthor(
+    public ResponseEntity<?> getByAuthor(
             @PathVariable String author,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader(value = "Authorization", required = false) String auth) {
-        String userId = null;
-        if (auth != null && auth.startsWith("Bearer ")) {
-            userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String fields,
+            @CurrentUser(required = false) String userId) {
+        Pageable pageable = PageRequests.of(page, size);
+        if (PodcastView.parse(fields) == PodcastView.SUMMARY) {
+            return ResponseEntity.ok(count
+                    ? service.getSummariesByAuthor(author, pageable)
+                    : service.getSummariesByAuthorSlice(author, pageable));
+        }
+        if (!count) {
+            return ResponseEntity.ok(service.getByAuthorSlice(author, userId, pageable));
         }
-        Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(service.getByAuthor(author, userId, pageable));
     }
 }
@@ -3,7 +3,7 @@ package com.example.podcat.controller;
 import com.example.podcat.dto.S3ConfigRequest;
 import com.example.podcat.dto.S3PresignedUrlRequest;
 import com.example.podcat.dto.S3PresignedUrlResponse;
-import com.example.podcat.security.JwtService;
+import com.example.podcat.security.CurrentUser;
 import com.example.podcat.service.S3Service;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -19,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 public class S3UploadController {
 
     private final S3Service s3Service;
-    private final JwtService jwtService;
 
     @PostMapping("/config")
     @Operation(
@@ -29,9 +28,8 @@ public class S3UploadController {
     )
     public ResponseEntity<String> saveS3Config(
             @RequestBody S3ConfigRequest request,
-            @RequestHeader("Authorization") String auth) {
+            @CurrentUser String userId) {
         try {
-            String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
             s3Service.saveS3Configuration(userId, request);
             return ResponseEntity.ok("S3 configuration saved successfully");
         } catch (Exception e) {
@@ -47,9 +45,8 @@ public class S3UploadController {
     )
     public ResponseEntity<S3PresignedUrlResponse> generatePresignedUrl(
             @RequestBody S3PresignedUrlRequest request,
-            @RequestHeader("Authorization") String auth) {
+            @CurrentUser String userId) {
         try {
-            String userId = jwtService.extractUsername(auth.replace("Bearer ", ""));
             S3PresignedUrlResponse response = s3Service.generatePresignedUrl(userId, request);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
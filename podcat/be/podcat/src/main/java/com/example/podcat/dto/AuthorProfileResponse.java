@@ -0,0 +1,13 @@
+package com.example.podcat.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AuthorProfileResponse {
+    private String userId;
+    private String name;
+    private String bio;
+    private String avatarUrl;
+}
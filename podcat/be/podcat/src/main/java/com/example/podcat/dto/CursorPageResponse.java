@@ -0,0 +1,26 @@
+package com.example.podcat.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor-paginated response wrapper")
+public class CursorPageResponse<T> {
+    @Schema(description = "List of items in the current page")
+    private List<T> content;
+
+    @Schema(description = "Maximum number of items per page", example = "20")
+    private int size;
+
+    @Schema(description = "Cursor to pass as ?cursor= for the next page, null on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private boolean hasNext;
+}
@@ -1,5 +1,6 @@
 package com.example.podcat.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
@@ -48,9 +49,20 @@ public class PodcastResponse {
     @Schema(description = "Number of likes", example = "87")
     private int likeCount;
     
+    @Schema(description = "Number of comments", example = "12")
+    private int commentCount;
+    
     @Schema(description = "Duration in seconds", example = "1800")
     private int duration;
     
     @Schema(description = "Whether the current user has liked this podcast", example = "true")
     private boolean isLiked;
+
+    @Schema(description = "Seconds of the podcast the current user has listened to; detail view only", example = "754")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer listeningProgress;
+
+    @Schema(description = "Profile of the user who created the podcast; detail view only")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AuthorProfileResponse authorProfile;
 }
@@ -0,0 +1,28 @@
+package com.example.podcat.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@Schema(description = "Podcast as shown on a catalog card; fetch the podcast by id for the rest")
+public class PodcastSummaryResponse {
+    @Schema(description = "Unique identifier", example = "60f1a5b3e8c7a12345678901")
+    private String id;
+
+    @Schema(description = "Title of the podcast", example = "The History of Rome")
+    private String title;
+
+    @Schema(description = "Author of the podcast", example = "Mike Duncan")
+    private String author;
+
+    @Schema(description = "URL to the podcast cover image")
+    private String imageUrl;
+
+    @Schema(description = "Duration in seconds", example = "1800")
+    private int duration;
+
+    @Schema(description = "Number of comments", example = "12")
+    private int commentCount;
+}
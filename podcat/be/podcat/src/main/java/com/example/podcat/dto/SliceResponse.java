@@ -0,0 +1,26 @@
+package com.example.podcat.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Paginated response wrapper without totals")
+public class SliceResponse<T> {
+    @Schema(description = "List of items in the current page")
+    private List<T> content;
+
+    @Schema(description = "Current page number (0-based)", example = "0")
+    private int page;
+
+    @Schema(description = "Number of items per page", example = "20")
+    private int size;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private boolean hasNext;
+}
@@ -0,0 +1,11 @@
+package com.example.podcat.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SuggestionResponse {
+    private String text;
+    private String type;
+}
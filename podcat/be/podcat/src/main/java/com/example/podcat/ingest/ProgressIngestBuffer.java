@@ -0,0 +1,293 @@
+package com.example.podcat.ingest;
+
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.exception.ServiceUnavailableException;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.ListeningHistoryRepository;
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for playback progress heartbeats. Only the latest progress per
+ * (user, podcast) is kept, and it is written every {@code podcat.history.flush-ms} as unordered
+ * bulk upserts of at most {@code podcat.history.flush-batch} entries. Once more than
+ * {@code podcat.history.max-entries} are pending, an early flush is started in the background;
+ * the heartbeat itself never waits for Mongo. Pending progress is flushed on shutdown; a batch
+ * that fails is kept and retried on the next scheduled flush, and no early flush is started
+ * until one succeeds again.
+ *
+ * <p>While Mongo is slow or down the buffer keeps absorbing heartbeats for entries it already
+ * holds, but it never holds more than {@code podcat.history.hard-max-entries}: a heartbeat that
+ * would add an entry past that is refused with a 503, and the client's next heartbeat retries it.
+ *
+ * <p>Each flushed batch costs three queries however many heartbeats it absorbed: the podcasts
+ * that still exist, the stored listen times, and the bulk upsert. Views and first listens are
+ * counted from the stored listen times, so a heartbeat itself never reads Mongo.
+ */
+@Slf4j
+@Component
+public class ProgressIngestBuffer {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final ListeningHistoryRepository listeningHistoryRepository;
+    private final PodcastRepository podcastRepository;
+    private final ViewCountAggregator viewCounter;
+    private final CountCache countCache;
+    private final int maxEntries;
+    private final int hardMaxEntries;
+    private final int batchSize;
+
+    // userId -> podcastId -> latest progress. Inner maps are only changed inside compute on the
+    // outer map, so an emptied user is removed without racing a new heartbeat.
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Pending>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService earlyFlusher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("progress-flush").daemon().factory());
+    private final AtomicBoolean earlyFlushRequested = new AtomicBoolean();
+    // Cleared by a failed write and set again by a successful one.
+    private volatile boolean writable = true;
+
+    private final Counter heartbeats;
+    private final Counter dropped;
+    private final Counter rejected;
+    private final DistributionSummary flushedEntries;
+    private final Timer flushes;
+
+    public ProgressIngestBuffer(ListeningHistoryRepository listeningHistoryRepository,
+                                PodcastRepository podcastRepository,
+                                ViewCountAggregator viewCounter,
+                                CountCache countCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${podcat.history.max-entries:50000}") int maxEntries,
+                                @Value("${podcat.history.hard-max-entries:200000}") int hardMaxEntries,
+                                @Value("${podcat.history.flush-batch:500}") int batchSize) {
+        this.listeningHistoryRepository = listeningHistoryRepository;
+        this.podcastRepository = podcastRepository;
+        this.viewCounter = viewCounter;
+        this.countCache = countCache;
+        this.maxEntries = maxEntries;
+        this.hardMaxEntries = Math.max(maxEntries, hardMaxEntries);
+        this.batchSize = batchSize;
+        this.heartbeats = Counter.builder("podcat.history.heartbeats")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("podcat.history.dropped")
+                .description("Buffered progress dropped because the podcast no longer exists")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("podcat.history.rejected")
+                .description("Heartbeats refused because the buffer was at its hard limit")
+                .register(meterRegistry);
+        this.flushedEntries = DistributionSummary.builder("podcat.history.flush.entries")
+                .description("Progress entries written per flush")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("podcat.history.flushes")
+                .register(meterRegistry);
+        Gauge.builder("podcat.history.pending", size, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the user's progress on the podcast, replacing any progress not yet written.
+     *
+     * @throws ServiceUnavailableException if this would add an entry past the hard limit
+     */
+    public void offer(String userId, String podcastId, int progress, Instant now) {
+        heartbeats.increment();
+        pending.compute(userId, (user, progressByPodcast) -> {
+            if (progressByPodcast == null) {
+                progressByPodcast = new ConcurrentHashMap<>();
+            }
+            Pending previous = progressByPodcast.get(podcastId);
+            if (previous == null) {
+                if (size.get() >= hardMaxEntries) {
+                    // Throwing leaves the outer map as it was.
+                    rejected.increment();
+                    throw new ServiceUnavailableException("Too much listening progress is waiting to be saved", RETRY_AFTER_SECONDS);
+                }
+                size.incrementAndGet();
+                progressByPodcast.put(podcastId, new Pending(progress, now, now));
+            } else {
+                // A long pause between two buffered heartbeats starts a new session right here;
+                // the session the entry started with is counted when it is flushed.
+                viewCounter.onListen(podcastId, previous.listenedAt, now);
+                progressByPodcast.put(podcastId, new Pending(progress, now, previous.sessionStart));
+            }
+            return progressByPodcast;
+        });
+        if (size.get() > maxEntries && writable && earlyFlushRequested.compareAndSet(false, true)) {
+            earlyFlusher.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    earlyFlushRequested.set(false);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${podcat.history.flush-ms:2000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<Entry> entries = new ArrayList<>(size.get());
+            pending.forEach((userId, progressByPodcast) -> progressByPodcast.forEach((podcastId, progress) ->
+                    entries.add(new Entry(userId, podcastId, progress))));
+            flushes.record(() -> write(entries));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        earlyFlusher.shutdownNow();
+        flush();
+        if (size.get() > 0) {
+            log.warn("{} progress updates could not be written before shutdown", size.get());
+        }
+    }
+
+    public int pendingCount() {
+        return size.get();
+    }
+
+    /** The user's progress on the podcast that is buffered but not written yet, if any. */
+    public OptionalInt pendingProgress(String userId, String podcastId) {
+        Map<String, Pending> progressByPodcast = pending.get(userId);
+        Pending progress = progressByPodcast == null ? null : progressByPodcast.get(podcastId);
+        return progress == null ? OptionalInt.empty() : OptionalInt.of(progress.progress);
+    }
+
+    /**
+     * The user's progress that is buffered but not written yet, newest first, as history rows
+     * without ids. Reads overlay it on what Mongo has instead of writing it out first.
+     */
+    public List<ListeningHistory> pendingHistory(String userId) {
+        Map<String, Pending> progressByPodcast = pending.get(userId);
+        if (progressByPodcast == null) {
+            return List.of();
+        }
+        List<ListeningHistory> rows = new ArrayList<>(progressByPodcast.size());
+        progressByPodcast.forEach((podcastId, progress) -> rows.add(new Entry(userId, podcastId, progress).toHistory()));
+        rows.sort(Comparator.comparing(ListeningHistory::getListenedAt).reversed());
+        return rows;
+    }
+
+    private void write(List<Entry> entries) {
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Entry> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+            try {
+                writeBatch(batch);
+            } catch (DataAccessException e) {
+                log.warn("Failed to write {} progress updates, will retry", entries.size() - from, e);
+                writable = false;
+                return;
+            }
+            batch.forEach(this::remove);
+        }
+        writable = true;
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        Set<String> podcastIds = podcastRepository.findIdsByIdIn(
+                        batch.stream().map(Entry::podcastId).collect(Collectors.toSet()))
+                .stream()
+                .map(Podcast::getId)
+                .collect(Collectors.toSet());
+
+        List<ListeningHistory> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (podcastIds.contains(entry.podcastId())) {
+                rows.add(entry.toHistory());
+            } else {
+                dropped.increment();
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Map<String, Instant> stored = new HashMap<>();
+        listeningHistoryRepository.findListenTimes(rows)
+                .forEach(row -> stored.put(key(row.getUserId(), row.getPodcastId()), row.getListenedAt()));
+        listeningHistoryRepository.upsertProgress(rows);
+        flushedEntries.record(rows.size());
+
+        for (Entry entry : batch) {
+            if (!podcastIds.contains(entry.podcastId())) {
+                continue;
+            }
+            String key = key(entry.userId(), entry.podcastId());
+            viewCounter.onListen(entry.podcastId(), stored.get(key), entry.progress().sessionStart);
+            if (!stored.containsKey(key)) {
+                countCache.invalidate("history:" + entry.userId());
+            }
+        }
+    }
+
+    // Drops the entry if no newer heartbeat replaced it while it was being written.
+    private void remove(Entry entry) {
+        pending.computeIfPresent(entry.userId(), (user, progressByPodcast) -> {
+            if (progressByPodcast.remove(entry.podcastId(), entry.progress())) {
+                size.decrementAndGet();
+            }
+            return progressByPodcast.isEmpty() ? null : progressByPodcast;
+        });
+    }
+
+    private static String key(String userId, String podcastId) {
+        return userId + '\u0000' + podcastId;
+    }
+
+    // Compared by identity, so a flush only removes the exact progress it wrote.
+    private static final class Pending {
+        final int progress;
+        final Instant listenedAt;
+        final Instant sessionStart;
+
+        Pending(int progress, Instant listenedAt, Instant sessionStart) {
+            this.progress = progress;
+            this.listenedAt = listenedAt;
+            this.sessionStart = sessionStart;
+        }
+    }
+
+    private record Entry(String userId, String podcastId, Pending progress) {
+        ListeningHistory toHistory() {
+            return ListeningHistory.builder()
+                    .userId(userId)
+                    .podcastId(podcastId)
+                    .progress(progress.progress)
+                    .listenedAt(progress.listenedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.podcat.ingest;
+
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind view counter. Views are added to a striped in-memory counter per podcast and
+ * written to Mongo every {@code podcat.views.flush-ms} as one bulk write of {@code $inc}
+ * updates, instead of a read-modify-write of the podcast per view. Pending views are flushed on
+ * shutdown; a flush that fails is kept and retried on the next one.
+ *
+ * <p>A listen counts as a new view when the user has no earlier listen of the podcast, or the
+ * last one is older than {@code podcat.views.session-gap}; progress updates within a session
+ * keep moving the last listen forward, so they never count twice.
+ *
+ * <p>Counters are never removed, so recording a view never races with a flush; there is at
+ * most one per podcast that has been viewed since startup.
+ */
+@Slf4j
+@Component
+public class ViewCountAggregator {
+
+    private final PodcastRepository podcastRepository;
+    private final Duration sessionGap;
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Time the oldest unflushed view was recorded, or 0 when nothing is pending.
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+
+    private final DistributionSummary flushedPodcasts;
+    private final DistributionSummary flushedViews;
+    private final Timer flushes;
+
+    public ViewCountAggregator(PodcastRepository podcastRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${podcat.views.session-gap:PT30M}") Duration sessionGap) {
+        this.podcastRepository = podcastRepository;
+        this.sessionGap = sessionGap;
+        this.flushedPodcasts = DistributionSummary.builder("podcat.views.flush.podcasts")
+                .description("Podcasts updated per flush")
+                .register(meterRegistry);
+        this.flushedViews = DistributionSummary.builder("podcat.views.flush.views")
+                .description("Views written per flush")
+                .register(meterRegistry);
+        this.flushes = Timer.builder("podcat.views.flushes")
+                .register(meterRegistry);
+        Gauge.builder("podcat.views.lag", oldestPendingAt, oldest -> oldest.get() == 0 ? 0 : System.currentTimeMillis() - oldest.get())
+                .description("Age of the oldest view not yet written to Mongo")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("podcat.views.pending", pending, ViewCountAggregator::sum)
+                .register(meterRegistry);
+    }
+
+    /** Counts a view of the podcast if a listen at {@code now} starts a new session. */
+    public boolean onListen(String podcastId, Instant previousListenAt, Instant now) {
+        if (previousListenAt != null && previousListenAt.isAfter(now.minus(sessionGap))) {
+            return false;
+        }
+        record(podcastId);
+        return true;
+    }
+
+    public void record(String podcastId) {
+        pending.computeIfAbsent(podcastId, id -> new LongAdder()).increment();
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${podcat.views.flush-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushes.record(this::drain);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        long unwritten = (long) sum(pending);
+        if (unwritten > 0) {
+            log.warn("{} views could not be written before shutdown", unwritten);
+        }
+    }
+
+    private void drain() {
+        long oldest = oldestPendingAt.getAndSet(0);
+        Map<String, Long> deltas = new HashMap<>();
+        pending.forEach((podcastId, views) -> {
+            long delta = views.sumThenReset();
+            if (delta > 0) {
+                deltas.put(podcastId, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            podcastRepository.incrementViewCounts(deltas);
+        } catch (DataAccessException e) {
+            log.warn("Failed to write {} view counts, will retry", deltas.size(), e);
+            deltas.forEach((podcastId, delta) -> pending.computeIfAbsent(podcastId, id -> new LongAdder()).add(delta));
+            oldestPendingAt.accumulateAndGet(oldest,
+                    (current, failed) -> failed == 0 ? current : current == 0 ? failed : Math.min(current, failed));
+            return;
+        }
+        flushedPodcasts.record(deltas.size());
+        flushedViews.record(deltas.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static double sum(Map<String, LongAdder> counters) {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+}
@@ -4,6 +4,8 @@ import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+
 @Document(collection = "categories")
 @Data
 @NoArgsConstructor
@@ -16,4 +18,7 @@ public class Category {
     private String name;
     private String description;
     private String imageUrl;
+
+    private long version;
+    private Instant updatedAt;
 }
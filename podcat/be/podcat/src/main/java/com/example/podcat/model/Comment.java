@@ -2,16 +2,20 @@ package com.example.podcat.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "comments")
+@CompoundIndex(name = Comment.PODCAST_CREATED_AT_INDEX, def = "{'podcastId': 1, 'createdAt': -1, '_id': -1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Comment {
+    public static final String PODCAST_CREATED_AT_INDEX = "podcastId_createdAt_id";
+
     @Id
     private String id;
 
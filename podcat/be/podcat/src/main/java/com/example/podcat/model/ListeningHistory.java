@@ -2,11 +2,17 @@ package com.example.podcat.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
 
 @Document(collection = "listening_history")
+@CompoundIndexes({
+        @CompoundIndex(name = "userId_podcastId", def = "{'userId': 1, 'podcastId': 1}", unique = true),
+        @CompoundIndex(name = "userId_listenedAt_id", def = "{'userId': 1, 'listenedAt': -1, '_id': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
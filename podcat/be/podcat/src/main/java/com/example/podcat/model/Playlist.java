@@ -2,6 +2,7 @@ package com.example.podcat.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.HashSet;
@@ -17,6 +18,7 @@ public class Playlist {
     private String id;
 
     private String name;
+    @Indexed
     private String userId;
 
     private Set<String> podcastIds = new HashSet<>();
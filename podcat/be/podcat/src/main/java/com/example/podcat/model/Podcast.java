@@ -2,6 +2,9 @@ package com.example.podcat.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -13,6 +16,10 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "podcasts")
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "categoryId_createdAt_id", def = "{'categoryId': 1, 'createdAt': -1, '_id': -1}")
+})
 public class Podcast {
     @Id
     private String id;
@@ -24,11 +31,21 @@ public class Podcast {
     private Instant createdAt;
     
     // New fields
+    @Indexed
     private String userId; // Creator of the podcast
     private String author;
     private String categoryId;
+    @Builder.Default
     private List<String> tags = new ArrayList<>();
-    private int viewCount = 0;
-    private int likeCount = 0;
-    private int duration = 0; // in seconds
+    private int viewCount;
+    private int likeCount;
+    private int commentCount;
+    private int duration; // in seconds
+    // Set once commentCount is known to match the comments collection; podcasts stored before
+    // the counter existed lack it until CommentCountBackfill recounts them.
+    private boolean commentsCounted;
+
+    // Bumped by every write, counters included; the podcast's ETag is derived from it.
+    private long version;
+    private Instant updatedAt;
 }
@@ -2,9 +2,15 @@ package com.example.podcat.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "s3_configurations")
+@CompoundIndexes({
+        @CompoundIndex(name = "userId_isActive", def = "{'userId': 1, 'isActive': 1}"),
+        @CompoundIndex(name = "isActive_id", def = "{'isActive': 1, '_id': -1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
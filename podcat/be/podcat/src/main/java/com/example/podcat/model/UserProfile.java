@@ -2,6 +2,7 @@ package com.example.podcat.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "user_profiles")
@@ -13,6 +14,7 @@ public class UserProfile {
     @Id
     private String id;
     
+    @Indexed(unique = true)
     private String userId;
     private String name;
     private String bio;
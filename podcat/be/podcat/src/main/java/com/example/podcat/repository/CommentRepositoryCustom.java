@@ -0,0 +1,13 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Comment;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CommentRepositoryCustom {
+    List<Comment> findLatestByPodcastId(String podcastId, KeysetCursor after, int limit);
+
+    /** Number of comments per podcast id, counted server-side. */
+    Map<String, Long> countByPodcastId();
+}
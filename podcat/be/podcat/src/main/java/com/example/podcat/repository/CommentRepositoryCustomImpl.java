@@ -0,0 +1,38 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Comment;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Comment> findLatestByPodcastId(String podcastId, KeysetCursor after, int limit) {
+        return mongoTemplate.find(
+                KeysetQueries.after(Criteria.where("podcastId").is(podcastId), "createdAt", after, limit)
+                        .withHint(Comment.PODCAST_CREATED_AT_INDEX),
+                Comment.class);
+    }
+
+    @Override
+    public Map<String, Long> countByPodcastId() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.group("podcastId").count().as("count"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, Comment.class, Document.class).forEach(group ->
+                counts.put(group.getString("_id"), ((Number) group.get("count")).longValue()));
+        return counts;
+    }
+}
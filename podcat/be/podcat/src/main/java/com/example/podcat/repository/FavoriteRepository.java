@@ -1,15 +1,21 @@
 package com.example.podcat.repository;
 
 import com.example.podcat.model.Favorite;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface FavoriteRepository extends MongoRepository<Favorite, String> {
-    Page<Favorite> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+public interface FavoriteRepository extends MongoRepository<Favorite, String>, FavoriteRepositoryCustom {
+    Slice<Favorite> findSliceByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+    long countByUserId(String userId);
     Optional<Favorite> findByUserIdAndPodcastId(String userId, String podcastId);
     boolean existsByUserIdAndPodcastId(String userId, String podcastId);
-    void deleteByUserIdAndPodcastId(String userId, String podcastId);
+    long deleteByUserIdAndPodcastId(String userId, String podcastId);
+
+    @Query(value = "{ 'userId': ?0 }", fields = "{ 'podcastId': 1 }")
+    List<Favorite> findPodcastIdsByUserId(String userId);
 }
@@ -0,0 +1,16 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Favorite;
+
+import java.util.List;
+import java.util.Map;
+
+public interface FavoriteRepositoryCustom {
+    List<Favorite> findLatestByUserId(String userId, KeysetCursor after, int limit);
+
+    /** Inserts the favorite unless the user already has one for the podcast; true if inserted. */
+    boolean insertIfAbsent(Favorite favorite);
+
+    /** Number of favorites per podcast id, counted server-side. */
+    Map<String, Long> countByPodcastId();
+}
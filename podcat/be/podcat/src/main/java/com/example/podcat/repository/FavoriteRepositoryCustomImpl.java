@@ -0,0 +1,53 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Favorite;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class FavoriteRepositoryCustomImpl implements FavoriteRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Favorite> findLatestByUserId(String userId, KeysetCursor after, int limit) {
+        return mongoTemplate.find(
+                KeysetQueries.after(Criteria.where("userId").is(userId), "createdAt", after, limit),
+                Favorite.class);
+    }
+
+    @Override
+    public boolean insertIfAbsent(Favorite favorite) {
+        Query query = Query.query(Criteria.where("userId").is(favorite.getUserId())
+                .and("podcastId").is(favorite.getPodcastId()));
+        Update update = new Update().setOnInsert("createdAt", favorite.getCreatedAt());
+        try {
+            return mongoTemplate.upsert(query, update, Favorite.class).getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // A concurrent upsert of the same pair won the unique index.
+            return false;
+        }
+    }
+
+    @Override
+    public Map<String, Long> countByPodcastId() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.group("podcastId").count().as("count"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, Favorite.class, Document.class).forEach(group ->
+                counts.put(group.getString("_id"), ((Number) group.get("count")).longValue()));
+        return counts;
+    }
+}
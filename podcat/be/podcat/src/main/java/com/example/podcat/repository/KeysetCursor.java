@@ -0,0 +1,39 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a listing sorted by a timestamp and then {@code _id}, both descending: the sort
+ * key of the last row returned. Clients get it as an opaque token and send it back unchanged.
+ */
+public record KeysetCursor(Instant sortValue, String id) {
+
+    public static KeysetCursor after(Instant sortValue, String id) {
+        return new KeysetCursor(sortValue, id);
+    }
+
+    /** Decodes a client token; a blank token means the first page. */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new KeysetCursor(
+                    Instant.ofEpochMilli(Long.parseLong(decoded.substring(0, separator))),
+                    decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sortValue.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.podcat.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+final class KeysetQueries {
+
+    private KeysetQueries() {
+    }
+
+    /**
+     * Rows matching {@code filter} that sort after {@code cursor} in ({@code sortField}, _id)
+     * descending order. Served by a compound index on (filter fields, sortField, _id), the cost
+     * is the same on every page.
+     */
+    static Query after(Criteria filter, String sortField, KeysetCursor cursor, int limit) {
+        Criteria criteria = filter;
+        if (cursor != null) {
+            Criteria seek = new Criteria().orOperator(
+                    Criteria.where(sortField).lt(cursor.sortValue()),
+                    Criteria.where(sortField).is(cursor.sortValue()).and("id").lt(cursor.id()));
+            criteria = new Criteria().andOperator(filter, seek);
+        }
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, sortField, "id"))
+                .limit(limit);
+    }
+}
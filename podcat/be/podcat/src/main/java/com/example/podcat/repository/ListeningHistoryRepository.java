@@ -1,13 +1,14 @@
 package com.example.podcat.repository;
 
 import com.example.podcat.model.ListeningHistory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.Optional;
 
-public interface ListeningHistoryRepository extends MongoRepository<ListeningHistory, String> {
-    Page<ListeningHistory> findByUserIdOrderByListenedAtDesc(String userId, Pageable pageable);
+public interface ListeningHistoryRepository extends MongoRepository<ListeningHistory, String>, ListeningHistoryRepositoryCustom {
+    Slice<ListeningHistory> findSliceByUserIdOrderByListenedAtDesc(String userId, Pageable pageable);
+    long countByUserId(String userId);
     Optional<ListeningHistory> findByUserIdAndPodcastId(String userId, String podcastId);
 }
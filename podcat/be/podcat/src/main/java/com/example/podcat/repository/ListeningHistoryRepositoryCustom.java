@@ -0,0 +1,15 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.ListeningHistory;
+
+import java.util.List;
+
+public interface ListeningHistoryRepositoryCustom {
+    List<ListeningHistory> findLatestByUserId(String userId, KeysetCursor after, int limit);
+
+    /** Stored entries for the given (userId, podcastId) pairs, with only their listenedAt. */
+    List<ListeningHistory> findListenTimes(List<ListeningHistory> entries);
+
+    /** Upserts each entry's progress and listenedAt by (userId, podcastId) in one unordered bulk write. */
+    void upsertProgress(List<ListeningHistory> entries);
+}
@@ -0,0 +1,53 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.ListeningHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ListeningHistoryRepositoryCustomImpl implements ListeningHistoryRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ListeningHistory> findLatestByUserId(String userId, KeysetCursor after, int limit) {
+        return mongoTemplate.find(
+                KeysetQueries.after(Criteria.where("userId").is(userId), "listenedAt", after, limit),
+                ListeningHistory.class);
+    }
+
+    @Override
+    public List<ListeningHistory> findListenTimes(List<ListeningHistory> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Criteria[] pairs = entries.stream()
+                .map(ListeningHistoryRepositoryCustomImpl::byPair)
+                .toArray(Criteria[]::new);
+        Query query = Query.query(new Criteria().orOperator(pairs));
+        query.fields().include("userId", "podcastId", "listenedAt");
+        return mongoTemplate.find(query, ListeningHistory.class);
+    }
+
+    @Override
+    public void upsertProgress(List<ListeningHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ListeningHistory.class);
+        entries.forEach(entry -> bulk.upsert(
+                Query.query(byPair(entry)),
+                new Update().set("progress", entry.getProgress()).set("listenedAt", entry.getListenedAt())));
+        bulk.execute();
+    }
+
+    private static Criteria byPair(ListeningHistory entry) {
+        return Criteria.where("userId").is(entry.getUserId()).and("podcastId").is(entry.getPodcastId());
+    }
+}
@@ -3,16 +3,70 @@ package com.example.podcat.repository;
 import com.example.podcat.model.Podcast;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface PodcastRepository extends MongoRepository<Podcast, String>, PodcastRepositoryCustom {
+
+    /** What a catalog card shows, plus createdAt for cursors; everything else stays in Mongo. */
+    String SUMMARY_FIELDS = "{ 'title': 1, 'author': 1, 'imageUrl': 1, 'duration': 1, 'commentCount': 1, 'createdAt': 1 }";
 
-public interface PodcastRepository extends MongoRepository<Podcast, String> {
     Page<Podcast> findByTitleContainingIgnoreCase(String keyword, Pageable pageable);
-    Page<Podcast> findByAuthorContainingIgnoreCase(String author, Pageable pageable);
-    Page<Podcast> findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(String title, String author, Pageable pageable);
-    Page<Podcast> findByCategoryId(String categoryId, Pageable pageable);
     Page<Podcast> findByUserId(String userId, Pageable pageable);
+    Slice<Podcast> findSliceBy(Pageable pageable);
+    Slice<Podcast> findSliceByAuthorContainingIgnoreCase(String author, Pageable pageable);
+    Slice<Podcast> findSliceByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(String title, String author, Pageable pageable);
+    Slice<Podcast> findSliceByCategoryId(String categoryId, Pageable pageable);
+    long countByAuthorContainingIgnoreCase(String author);
+    long countByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(String title, String author);
+    long countByCategoryId(String categoryId);
     List<Podcast> findTop10ByOrderByViewCountDesc();
     List<Podcast> findTop10ByOrderByCreatedAtDesc();
+
+    @Query(value = "{}", fields = "{ 'title': 1, 'author': 1, 'description': 1, 'tags': 1 }")
+    Stream<Podcast> streamAllForSearch();
+
+    @Query(value = "{}", fields = "{ 'title': 1, 'author': 1, 'tags': 1, 'categoryId': 1, 'viewCount': 1, 'likeCount': 1 }")
+    Stream<Podcast> streamAllForSuggest();
+
+    @Query(value = "{}", fields = "{ 'likeCount': 1 }")
+    Stream<Podcast> streamAllLikeCounts();
+
+    @Query(value = "{ 'commentsCounted': { '$ne': true } }", fields = "{ 'version': 1 }")
+    Stream<Podcast> streamCommentUncountedVersions();
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'updatedAt': 1, 'createdAt': 1, 'categoryId': 1 }")
+    Optional<Podcast> findVersionById(String id);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ '_id': 1 }")
+    List<Podcast> findIdsByIdIn(Collection<String> ids);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }",
+           fields = "{ 'title': 1, 'description': 1, 'author': 1, 'audioUrl': 1, 'imageUrl': 1, 'createdAt': 1, 'userId': 1, 'categoryId': 1, 'tags': 1, 'viewCount': 1, 'likeCount': 1, 'commentCount': 1, 'duration': 1 }")
+    List<Podcast> findCardsByIdIn(Collection<String> ids);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'title': 1, 'imageUrl': 1, 'duration': 1 }")
+    List<Podcast> findHistoryCardsByIdIn(Collection<String> ids);
+
+    @Query(value = "{}", fields = SUMMARY_FIELDS)
+    Slice<Podcast> findSummarySliceBy(Pageable pageable);
+
+    @Query(value = "{ 'categoryId': ?0 }", fields = SUMMARY_FIELDS)
+    Slice<Podcast> findSummarySliceByCategoryId(String categoryId, Pageable pageable);
+
+    @Query(value = "{ 'author': { '$regex': ?0, '$options': 'i' } }", fields = SUMMARY_FIELDS)
+    Slice<Podcast> findSummarySliceByAuthorMatching(String pattern, Pageable pageable);
+
+    @Query(value = "{ '$or': [ { 'title': { '$regex': ?0, '$options': 'i' } }, { 'author': { '$regex': ?0, '$options': 'i' } } ] }",
+           fields = SUMMARY_FIELDS)
+    Slice<Podcast> findSummarySliceByTitleOrAuthorMatching(String pattern, Pageable pageable);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = SUMMARY_FIELDS)
+    List<Podcast> findSummariesByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,59 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Podcast;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface PodcastRepositoryCustom {
+    List<Podcast> findLatest(KeysetCursor after, int limit);
+
+    /** Like {@link #findLatest}, loading only {@link PodcastRepository#SUMMARY_FIELDS}. */
+    List<Podcast> findLatestSummaries(KeysetCursor after, int limit);
+
+    /**
+     * Adds each podcast's delta to its view count in one unordered bulk write. Unlike every other
+     * write it leaves the podcast's version alone, so a cached detail may show an older count.
+     */
+    void incrementViewCounts(Map<String, Long> deltas);
+
+    /**
+     * Adds {@code delta} to the like count server-side, never taking it below zero. Returns false
+     * when no podcast was updated: it does not exist, or its count is already zero.
+     */
+    boolean incrementLikeCount(String podcastId, int delta);
+
+    /** Like {@link #incrementLikeCount}, for the comment count. */
+    boolean incrementCommentCount(String podcastId, int delta);
+
+    /**
+     * Sets each podcast's comment count to {@code count} and marks it counted, but only where its
+     * version still equals {@code observedVersion}; returns how many were set.
+     */
+    int recountComments(List<CommentRecount> recounts);
+
+    /**
+     * Sets each podcast's like count to {@code actual}, but only where it still equals
+     * {@code observed}, so counts that moved since they were read are left alone.
+     */
+    int correctLikeCounts(List<LikeCountCorrection> corrections);
+
+    /**
+     * Sets the editable fields of the podcast from {@code details} in place, without rewriting
+     * counters, and returns the updated podcast.
+     */
+    Optional<Podcast> updateDetails(String podcastId, Podcast details);
+
+    /**
+     * Moves the version of every podcast the user created, for a change to something their
+     * details show, such as the author's profile. Returns how many were touched.
+     */
+    long touchByUserId(String userId);
+
+    record LikeCountCorrection(String podcastId, int observed, int actual) {
+    }
+
+    record CommentRecount(String podcastId, long observedVersion, int count) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Podcast;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class PodcastRepositoryCustomImpl implements PodcastRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Podcast> findLatest(KeysetCursor after, int limit) {
+        return mongoTemplate.find(KeysetQueries.after(new Criteria(), "createdAt", after, limit), Podcast.class);
+    }
+
+    @Override
+    public List<Podcast> findLatestSummaries(KeysetCursor after, int limit) {
+        Query query = KeysetQueries.after(new Criteria(), "createdAt", after, limit);
+        Document.parse(PodcastRepository.SUMMARY_FIELDS).keySet().forEach(query.fields()::include);
+        return mongoTemplate.find(query, Podcast.class);
+    }
+
+    @Override
+    public void incrementViewCounts(Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Podcast.class);
+        // viewCount is an int; incrementing by an Int64 would widen the stored field to a long.
+        // Views are flushed every few seconds, so they do not touch the podcast: its validators
+        // would never hold for a popular one, and the backfill's version checks would keep losing.
+        deltas.forEach((podcastId, delta) ->
+                bulk.updateOne(Query.query(Criteria.where("id").is(podcastId)), new Update().inc("viewCount", Math.toIntExact(delta))));
+        bulk.execute();
+    }
+
+    @Override
+    public boolean incrementLikeCount(String podcastId, int delta) {
+        return incrementCounter(podcastId, "likeCount", delta);
+    }
+
+    @Override
+    public boolean incrementCommentCount(String podcastId, int delta) {
+        return incrementCounter(podcastId, "commentCount", delta);
+    }
+
+    private boolean incrementCounter(String podcastId, String counter, int delta) {
+        Criteria criteria = Criteria.where("id").is(podcastId);
+        if (delta < 0) {
+            criteria = criteria.and(counter).gte(-delta);
+        }
+        return mongoTemplate.updateFirst(Query.query(criteria), touch(new Update().inc(counter, delta)), Podcast.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public int recountComments(List<CommentRecount> recounts) {
+        if (recounts.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Podcast.class);
+        recounts.forEach(recount -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(recount.podcastId()).and("version").is(recount.observedVersion())),
+                touch(new Update().set("commentCount", recount.count()).set("commentsCounted", true))));
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public int correctLikeCounts(List<LikeCountCorrection> corrections) {
+        if (corrections.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Podcast.class);
+        corrections.forEach(correction -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(correction.podcastId()).and("likeCount").is(correction.observed())),
+                touch(new Update().set("likeCount", correction.actual()))));
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public Optional<Podcast> updateDetails(String podcastId, Podcast details) {
+        Update update = touch(new Update()
+                .set("title", details.getTitle())
+                .set("description", details.getDescription())
+                .set("author", details.getAuthor())
+                .set("audioUrl", details.getAudioUrl())
+                .set("imageUrl", details.getImageUrl())
+                .set("categoryId", details.getCategoryId())
+                .set("tags", details.getTags())
+                .set("duration", details.getDuration()));
+        return Optional.ofNullable(mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(podcastId)), update,
+                FindAndModifyOptions.options().returnNew(true), Podcast.class));
+    }
+
+    @Override
+    public long touchByUserId(String userId) {
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("userId").is(userId)), touch(new Update()), Podcast.class)
+                .getModifiedCount();
+    }
+
+    // Every write to what a podcast's detail shows, bar its view count, moves its version and
+    // updatedAt, which back its ETag and Last-Modified.
+    private static Update touch(Update update) {
+        return update.inc("version", 1).currentDate("updatedAt");
+    }
+}
@@ -0,0 +1,505 @@
+package com.example.podcat.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking. Documents are identified by an external key and
+ * described by weighted term frequencies; a query is a list of term groups where a document
+ * must match at least one term of every group.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_FUZZY_EXPANSIONS = 16;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Sorted view of the vocabulary for prefix expansion; updated only when a term is first seen.
+    private final TreeSet<String> dictionary = new TreeSet<>();
+    private final TrigramIndex trigrams = new TrigramIndex();
+    private final Map<String, Integer> docByKey = new HashMap<>();
+    private BitSet live = new BitSet();
+    private String[] keys = new String[MIN_CAPACITY];
+    private float[] lengths = new float[MIN_CAPACITY];
+    private int nextDoc;
+    private int dead;
+    private double totalLength;
+
+    public void put(String key, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+
+            int doc = nextDoc++;
+            if (doc == keys.length) {
+                keys = Arrays.copyOf(keys, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+
+            float length = 0;
+            for (Map.Entry<String, Float> term : termWeights.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), this::newTerm).add(doc, term.getValue());
+                length += term.getValue();
+            }
+            keys[doc] = key;
+            lengths[doc] = length;
+            live.set(doc);
+            docByKey.put(key, doc);
+            totalLength += length;
+            // Re-indexing a podcast leaves its old doc behind just like removing it does.
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Indexed terms starting with {@code prefix}, at most {@value #MAX_PREFIX_EXPANSIONS} in lexical order. */
+    public List<String> expandPrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            List<String> terms = new ArrayList<>();
+            for (String term : dictionary.tailSet(prefix, true)) {
+                if (!term.startsWith(prefix) || terms.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                terms.add(term);
+            }
+            return terms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed terms within {@code maxDistance} edits of {@code term}, closest first, at most
+     * {@value #MAX_FUZZY_EXPANSIONS}. The term itself is included when indexed.
+     */
+    List<TrigramIndex.Match> expandFuzzy(String term, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            return trigrams.match(term, maxDistance, MAX_FUZZY_EXPANSIONS);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(List<List<String>> groups, int offset, int limit) {
+        List<Map<String, Float>> boosted = new ArrayList<>(groups.size());
+        for (List<String> group : groups) {
+            Map<String, Float> terms = new HashMap<>();
+            group.forEach(term -> terms.put(term, 1f));
+            boosted.add(terms);
+        }
+        return searchBoosted(boosted, offset, limit);
+    }
+
+    /**
+     * Like {@link #search}, with each term of a group carrying a multiplier on its score, so that
+     * looser matches such as fuzzy expansions rank below exact ones.
+     */
+    public Hits searchBoosted(List<Map<String, Float>> groups, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        if (groups.isEmpty() || limit <= 0) {
+            return new Hits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Group> resolved = new ArrayList<>(groups.size());
+            for (Map<String, Float> group : groups) {
+                List<Postings> lists = new ArrayList<>(group.size());
+                List<Float> boosts = new ArrayList<>(group.size());
+                group.forEach((term, boost) -> {
+                    Postings list = postings.get(term);
+                    if (list != null && list.size > 0) {
+                        lists.add(list);
+                        boosts.add(boost);
+                    }
+                });
+                if (lists.isEmpty()) {
+                    return new Hits(0, List.of());
+                }
+                float[] boostArray = new float[boosts.size()];
+                for (int i = 0; i < boostArray.length; i++) {
+                    boostArray[i] = boosts.get(i);
+                }
+                resolved.add(new Group(lists.toArray(Postings[]::new), boostArray));
+            }
+            resolved.sort((a, b) -> Long.compare(totalSize(a.lists()), totalSize(b.lists())));
+
+            int liveDocs = Math.max(1, docByKey.size());
+            float avgLength = (float) (totalLength / liveDocs);
+            // Postings still hold docs removed since the last compaction, so document frequencies
+            // count them too; measured against the live docs alone an idf could drop below zero.
+            int indexedDocs = Math.max(1, nextDoc);
+
+            // Candidates come from the rarest group, the others are probed by binary search.
+            Group rarest = resolved.get(0);
+            IntFloatMap scores = new IntFloatMap((int) Math.min(totalSize(rarest.lists()), 1 << 20));
+            for (int l = 0; l < rarest.lists().length; l++) {
+                Postings list = rarest.lists()[l];
+                float idf = rarest.boosts()[l] * idf(list.size, indexedDocs);
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (live.get(doc)) {
+                        scores.add(doc, idf * tf(list.weights[i], lengths[doc], avgLength));
+                    }
+                }
+            }
+            for (int g = 1; g < resolved.size() && scores.size() > 0; g++) {
+                Postings[] group = resolved.get(g).lists();
+                float[] idfs = new float[group.length];
+                for (int i = 0; i < group.length; i++) {
+                    idfs[i] = resolved.get(g).boosts()[i] * idf(group[i].size, indexedDocs);
+                }
+                IntFloatMap next = new IntFloatMap(scores.size());
+                for (int slot = scores.first(); slot >= 0; slot = scores.next(slot)) {
+                    int doc = scores.keyAt(slot);
+                    float score = 0;
+                    boolean matched = false;
+                    for (int i = 0; i < group.length; i++) {
+                        int at = group[i].indexOf(doc);
+                        if (at >= 0) {
+                            score += idfs[i] * tf(group[i].weights[at], lengths[doc], avgLength);
+                            matched = true;
+                        }
+                    }
+                    // A match, whatever it scores: a zero boost must not drop a doc from the results.
+                    if (matched) {
+                        next.add(doc, scores.valueAt(slot) + score);
+                    }
+                }
+                scores = next;
+            }
+
+            if (offset >= scores.size()) {
+                return new Hits(scores.size(), List.of());
+            }
+            // Never more than the hits, however deep the requested page.
+            TopK top = new TopK((int) Math.min((long) offset + limit, scores.size()));
+            for (int slot = scores.first(); slot >= 0; slot = scores.next(slot)) {
+                top.offer(scores.keyAt(slot), scores.valueAt(slot));
+            }
+            int[] ranked = top.sortedDocs();
+            List<String> page = new ArrayList<>(ranked.length - offset);
+            for (int i = offset; i < ranked.length; i++) {
+                page.add(keys[ranked[i]]);
+            }
+            return new Hits(scores.size(), page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String key) {
+        Integer doc = docByKey.remove(key);
+        if (doc != null) {
+            live.clear(doc);
+            keys[doc] = null;
+            totalLength -= lengths[doc];
+            dead++;
+        }
+    }
+
+    private Postings newTerm(String term) {
+        dictionary.add(term);
+        trigrams.add(term);
+        return new Postings();
+    }
+
+    private void compactIfSparse() {
+        if (dead > MIN_CAPACITY && dead > docByKey.size() / 4) {
+            compact();
+        }
+    }
+
+    /**
+     * Drops dead docs from the postings and renumbers the live ones from zero, keeping their
+     * order so every postings list stays sorted, and shrinks the per-doc arrays to fit.
+     */
+    private void compact() {
+        int[] remap = new int[nextDoc];
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, docByKey.size())) << 1);
+        String[] newKeys = new String[capacity];
+        float[] newLengths = new float[capacity];
+        int docs = 0;
+        double length = 0;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            remap[doc] = docs;
+            newKeys[docs] = keys[doc];
+            newLengths[docs] = lengths[doc];
+            docByKey.put(keys[doc], docs);
+            length += lengths[doc];
+            docs++;
+        }
+
+        postings.entrySet().removeIf(entry -> {
+            entry.getValue().retain(live, remap);
+            if (entry.getValue().size == 0) {
+                dictionary.remove(entry.getKey());
+                trigrams.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        keys = newKeys;
+        lengths = newLengths;
+        live = new BitSet(capacity);
+        live.set(0, docs);
+        nextDoc = docs;
+        // Summed afresh, so float error from many removals does not accumulate.
+        totalLength = length;
+        dead = 0;
+    }
+
+    /** Doc ids handed out and not yet reclaimed by compaction, live or dead; for tests. */
+    int docSlots() {
+        lock.readLock().lock();
+        try {
+            return nextDoc;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long totalSize(Postings[] lists) {
+        long size = 0;
+        for (Postings list : lists) {
+            size += list.size;
+        }
+        return size;
+    }
+
+    private static float idf(int df, int docs) {
+        return (float) Math.log(1 + (docs - df + 0.5) / (df + 0.5));
+    }
+
+    private static float tf(float weight, float length, float avgLength) {
+        return weight * (K1 + 1) / (weight + K1 * (1 - B + B * length / avgLength));
+    }
+
+    public record Hits(long total, List<String> keys) {
+    }
+
+    private record Group(Postings[] lists, float[] boosts) {
+    }
+
+    // Doc ids are handed out in increasing order, so every postings list stays sorted.
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        int indexOf(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc);
+        }
+
+        // The remapping is increasing, so the list stays sorted.
+        void retain(BitSet live, int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(docs[i])) {
+                    docs[kept] = remap[docs[i]];
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (kept < docs.length / 4 && docs.length > 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, kept * 2));
+                weights = Arrays.copyOf(weights, docs.length);
+            }
+        }
+    }
+
+    /** Open-addressing int to float map; doc ids are never negative, so -1 marks a free slot. */
+    private static final class IntFloatMap {
+        private int[] keys;
+        private float[] values;
+        private int size;
+
+        IntFloatMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new float[capacity];
+            Arrays.fill(keys, -1);
+        }
+
+        void add(int key, float delta) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != -1 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == -1) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] += delta;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        int first() {
+            return next(-1);
+        }
+
+        int next(int slot) {
+            for (int i = slot + 1; i < keys.length; i++) {
+                if (keys[i] != -1) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int keyAt(int slot) {
+            return keys[slot];
+        }
+
+        float valueAt(int slot) {
+            return values[slot];
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            float[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new float[oldKeys.length * 2];
+            Arrays.fill(keys, -1);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != -1) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Bounded min-heap of (score, doc) packed into longs. The score's float bits are flipped for
+     * negative scores, which then sort below positive ones in the right order.
+     */
+    private static final class TopK {
+        private final long[] heap;
+        private int size;
+
+        TopK(int capacity) {
+            heap = new long[Math.max(1, capacity)];
+        }
+
+        void offer(int doc, float score) {
+            int bits = Float.floatToIntBits(score);
+            long entry = ((long) (bits ^ ((bits >> 31) & 0x7fffffff)) << 32) | (doc & 0xffffffffL);
+            if (size < heap.length) {
+                heap[size] = entry;
+                siftUp(size++);
+            } else if (entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(0);
+            }
+        }
+
+        int[] sortedDocs() {
+            long[] entries = Arrays.copyOf(heap, size);
+            Arrays.sort(entries);
+            int[] docs = new int[size];
+            for (int i = 0; i < size; i++) {
+                docs[i] = (int) entries[size - 1 - i];
+            }
+            return docs;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= heap[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int child = left + 1 < size && heap[left + 1] < heap[left] ? left + 1 : left;
+                if (heap[i] <= heap[child]) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.podcat.search;
+
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.PodcastRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over podcast title, author, tags and description. The index is built from
+ * Mongo in the background at startup (and periodically, to pick up writes made on other nodes)
+ * and kept current by PodcastService on create, update and delete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PodcastSearchIndex {
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float AUTHOR_WEIGHT = 2f;
+    private static final float TAG_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private final PodcastRepository podcastRepository;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready;
+    // Changes made while a rebuild is streaming podcasts, replayed onto the new index before the swap.
+    private List<Consumer<InvertedIndex>> pendingChanges;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Async
+    @Scheduled(initialDelayString = "${podcat.search.rebuild-ms:900000}",
+               fixedDelayString = "${podcat.search.rebuild-ms:900000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            InvertedIndex fresh = new InvertedIndex();
+            setPendingChanges(new ArrayList<>());
+
+            try (Stream<Podcast> podcasts = podcastRepository.streamAllForSearch()) {
+                podcasts.forEach(podcast -> fresh.put(podcast.getId(), terms(podcast)));
+            } catch (RuntimeException e) {
+                setPendingChanges(null);
+                log.error("Search index rebuild failed", e);
+                return;
+            }
+
+            changeLock.lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(fresh));
+                pendingChanges = null;
+                index = fresh;
+                ready = true;
+            } finally {
+                changeLock.unlock();
+            }
+            log.info("Search index rebuilt with {} podcasts and {} terms in {} ms",
+                    fresh.size(), fresh.termCount(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Podcast podcast) {
+        Map<String, Float> terms = terms(podcast);
+        apply(target -> target.put(podcast.getId(), terms));
+    }
+
+    public void remove(String podcastId) {
+        apply(target -> target.remove(podcastId));
+    }
+
+    /**
+     * With {@code fuzzy}, every token also matches indexed terms within one edit (two for tokens
+     * of eight or more characters), scored below exact matches.
+     */
+    public InvertedIndex.Hits search(String keyword, boolean fuzzy, int offset, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(keyword);
+        if (tokens.isEmpty()) {
+            return new InvertedIndex.Hits(0, List.of());
+        }
+
+        InvertedIndex current = index;
+        return current.searchBoosted(groups(current, tokens, fuzzy), offset, limit);
+    }
+
+    static List<Map<String, Float>> groups(InvertedIndex current, List<String> tokens, boolean fuzzy) {
+        List<Map<String, Float>> groups = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            Map<String, Float> group = new HashMap<>();
+            group.put(token, 1f);
+            // The last token may still be being typed, so it also matches as a prefix.
+            if (i == tokens.size() - 1) {
+                current.expandPrefix(token).forEach(term -> group.put(term, 1f));
+            }
+            if (fuzzy) {
+                current.expandFuzzy(token, maxEdits(token))
+                        .forEach(match -> group.putIfAbsent(match.term(), 1f / (1 + match.distance())));
+            }
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    static int maxEdits(String token) {
+        return token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+    }
+
+    static Map<String, Float> terms(Podcast podcast) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, podcast.getTitle(), TITLE_WEIGHT);
+        addTerms(terms, podcast.getAuthor(), AUTHOR_WEIGHT);
+        addTerms(terms, podcast.getDescription(), DESCRIPTION_WEIGHT);
+        if (podcast.getTags() != null) {
+            podcast.getTags().forEach(tag -> addTerms(terms, tag, TAG_WEIGHT));
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> change) {
+        changeLock.lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private void setPendingChanges(List<Consumer<InvertedIndex>> changes) {
+        changeLock.lock();
+        try {
+            pendingChanges = changes;
+        } finally {
+            changeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.podcat.search;
+
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Search-as-you-type completions over podcast titles, authors, tags and category names,
+ * weighted by popularity. The {@link PrefixIndex} is immutable: it is rebuilt from Mongo in the
+ * background and swapped in whole, shortly after any podcast write and at least every
+ * {@code podcat.suggest.max-age-ms} so that view and like counts stay roughly current.
+ */
+@Slf4j
+@Component
+public class PodcastSuggester {
+
+    private static final long LIKE_WEIGHT = 3;
+
+    private final PodcastRepository podcastRepository;
+    private final CategoryCache categoryCache;
+    private final long maxAgeMillis;
+    private final Timer rebuilds;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile PrefixIndex index = PrefixIndex.EMPTY;
+    private volatile long builtAt;
+
+    public PodcastSuggester(PodcastRepository podcastRepository,
+                            CategoryCache categoryCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${podcat.suggest.max-age-ms:900000}") long maxAgeMillis) {
+        this.podcastRepository = podcastRepository;
+        this.categoryCache = categoryCache;
+        this.maxAgeMillis = maxAgeMillis;
+        this.rebuilds = Timer.builder("podcat.suggest.rebuilds")
+                .register(meterRegistry);
+        Gauge.builder("podcat.suggest.entries", this, suggester -> suggester.index.size())
+                .register(meterRegistry);
+        Gauge.builder("podcat.suggest.bytes", this, suggester -> suggester.index.estimatedBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    @Async
+    @Scheduled(fixedDelayString = "${podcat.suggest.refresh-ms:30000}")
+    public void refresh() {
+        if (dirty.get() || System.currentTimeMillis() - builtAt >= maxAgeMillis) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            dirty.set(false);
+            PrefixIndex fresh = rebuilds.record(this::build);
+            if (fresh == null) {
+                dirty.set(true);
+                return;
+            }
+            index = fresh;
+            builtAt = System.currentTimeMillis();
+            log.info("Suggestion index rebuilt with {} entries, about {} KiB",
+                    fresh.size(), fresh.estimatedBytes() / 1024);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /** Marks the index stale; the next scheduled refresh rebuilds it. */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    public List<PrefixIndex.Suggestion> suggest(String prefix, int limit) {
+        return index.complete(prefix, limit);
+    }
+
+    public long estimatedBytes() {
+        return index.estimatedBytes();
+    }
+
+    private PrefixIndex build() {
+        PrefixIndex.Builder builder = new PrefixIndex.Builder();
+        Map<String, Long> categoryWeights = new HashMap<>();
+
+        try (Stream<Podcast> podcasts = podcastRepository.streamAllForSuggest()) {
+            podcasts.forEach(podcast -> {
+                long weight = weight(podcast);
+                builder.add(podcast.getTitle(), "title", weight, true);
+                builder.add(podcast.getAuthor(), "author", weight, false);
+                if (podcast.getTags() != null) {
+                    podcast.getTags().forEach(tag -> builder.add(tag, "tag", weight, false));
+                }
+                if (podcast.getCategoryId() != null) {
+                    categoryWeights.merge(podcast.getCategoryId(), weight, Long::sum);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Suggestion index rebuild failed", e);
+            return null;
+        }
+
+        categoryCache.findAll().forEach(category -> builder.add(category.getName(), "category",
+                categoryWeights.getOrDefault(category.getId(), 1L), true));
+        return builder.build();
+    }
+
+    // Every podcast gets at least weight 1 so that new ones still complete, just last.
+    static long weight(Podcast podcast) {
+        return 1 + Math.max(0, podcast.getViewCount()) + LIKE_WEIGHT * Math.max(0, podcast.getLikeCount());
+    }
+}
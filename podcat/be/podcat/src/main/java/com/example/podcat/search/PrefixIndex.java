@@ -0,0 +1,187 @@
+package com.example.podcat.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable completion index: folded keys sorted in one array, so the keys sharing a prefix
+ * form a contiguous range, plus a segment tree over their weights that yields the heaviest
+ * entries of any range in O(k log n). Build a new instance with {@link Builder} and swap it in
+ * rather than mutating.
+ */
+public final class PrefixIndex {
+
+    public static final PrefixIndex EMPTY = new Builder().build();
+
+    private final String[] keys;
+    private final int[] suggestionOf;
+    private final long[] weights;
+    private final String[] texts;
+    private final String[] types;
+    private final int[] tree;
+
+    private PrefixIndex(String[] keys, int[] suggestionOf, long[] weights, String[] texts, String[] types) {
+        this.keys = keys;
+        this.suggestionOf = suggestionOf;
+        this.weights = weights;
+        this.texts = texts;
+        this.types = types;
+        this.tree = new int[Math.max(1, 2 * keys.length)];
+        for (int i = 0; i < keys.length; i++) {
+            tree[keys.length + i] = i;
+        }
+        for (int i = keys.length - 1; i > 0; i--) {
+            tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public List<Suggestion> complete(String prefix, int limit) {
+        String folded = normalize(prefix);
+        if (folded.isEmpty() || limit <= 0 || keys.length == 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(folded);
+        int to = lowerBound(folded + Character.MAX_VALUE);
+        List<Suggestion> completions = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+
+        // Each queue entry is a key range together with its heaviest key.
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Long.compare(weights[b[2]], weights[a[2]]));
+        if (from < to) {
+            ranges.add(new int[]{from, to, heaviest(from, to)});
+        }
+        while (!ranges.isEmpty() && completions.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            if (seen.add(suggestionOf[best])) {
+                int s = suggestionOf[best];
+                completions.add(new Suggestion(texts[s], types[s], weights[best]));
+            }
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best, heaviest(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[]{best + 1, range[1], heaviest(best + 1, range[1])});
+            }
+        }
+        return completions;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /** Approximate retained heap size, assuming compressed oops and compact (Latin-1) strings. */
+    public long estimatedBytes() {
+        long bytes = 6 * 16L + keys.length * (4L + 4 + 8 + 2 * 4) + texts.length * (4L + 4);
+        for (String key : keys) {
+            bytes += 40 + key.length();
+        }
+        for (String text : texts) {
+            bytes += 40 + text.length();
+        }
+        return bytes;
+    }
+
+    private int heaviest(int from, int to) {
+        int best = -1;
+        for (int lo = from + keys.length, hi = to + keys.length; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                best = best < 0 ? tree[lo] : heavier(best, tree[lo]);
+                lo++;
+            }
+            if ((hi & 1) == 1) {
+                hi--;
+                best = best < 0 ? tree[hi] : heavier(best, tree[hi]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        return weights[b] > weights[a] || (weights[b] == weights[a] && b < a) ? b : a;
+    }
+
+    private int lowerBound(String key) {
+        int from = 0;
+        int to = keys.length;
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    static String normalize(String text) {
+        return String.join(" ", TextNormalizer.tokenize(text));
+    }
+
+    public record Suggestion(String text, String type, long weight) {
+    }
+
+    public static final class Builder {
+
+        private static final int MAX_WORD_SUFFIXES = 8;
+
+        private final Map<String, Integer> suggestionIds = new HashMap<>();
+        private final List<String> texts = new ArrayList<>();
+        private final List<String> types = new ArrayList<>();
+        private final Map<String, long[]> keyWeights = new HashMap<>();
+
+        /**
+         * Adds {@code text} as a completion of every prefix of its folded form. With
+         * {@code everyWord}, it also completes prefixes starting at any of its first words,
+         * so "history" finds "The History of Rome". Weights of repeated texts add up.
+         */
+        public Builder add(String text, String type, long weight, boolean everyWord) {
+            if (text == null || text.isBlank()) {
+                return this;
+            }
+            List<String> tokens = TextNormalizer.tokenize(text);
+            if (tokens.isEmpty()) {
+                return this;
+            }
+
+            String displayKey = type + '\u0000' + String.join(" ", tokens);
+            int suggestion = suggestionIds.computeIfAbsent(displayKey, k -> {
+                texts.add(text.trim());
+                types.add(type);
+                return texts.size() - 1;
+            });
+
+            int starts = everyWord ? Math.min(tokens.size(), MAX_WORD_SUFFIXES) : 1;
+            for (int i = 0; i < starts; i++) {
+                String key = String.join(" ", tokens.subList(i, tokens.size())) + '\u0000' + suggestion;
+                keyWeights.computeIfAbsent(key, k -> new long[]{suggestion, 0})[1] += weight;
+            }
+            return this;
+        }
+
+        public PrefixIndex build() {
+            String[] sortedKeys = keyWeights.keySet().toArray(String[]::new);
+            Arrays.sort(sortedKeys);
+
+            int[] suggestionOf = new int[sortedKeys.length];
+            long[] weights = new long[sortedKeys.length];
+            for (int i = 0; i < sortedKeys.length; i++) {
+                long[] entry = keyWeights.get(sortedKeys[i]);
+                suggestionOf[i] = (int) entry[0];
+                weights[i] = entry[1];
+                sortedKeys[i] = sortedKeys[i].substring(0, sortedKeys[i].indexOf('\u0000'));
+            }
+            return new PrefixIndex(sortedKeys, suggestionOf, weights,
+                    texts.toArray(String[]::new), types.toArray(String[]::new));
+        }
+    }
+}
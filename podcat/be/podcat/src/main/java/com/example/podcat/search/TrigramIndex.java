@@ -0,0 +1,149 @@
+package com.example.podcat.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Character-trigram index over a vocabulary, used to find the terms within a small edit distance
+ * of a misspelled one. Candidates come from the postings of the query's rarest trigrams only (a
+ * term within distance d shares all but at most 3d of them) and are then verified with a banded
+ * Levenshtein distance, so a lookup never walks the whole vocabulary.
+ *
+ * <p>Not thread-safe; {@link InvertedIndex} guards it with its own lock.
+ */
+final class TrigramIndex {
+
+    private static final char PAD = '\u0001';
+
+    private final Map<Long, IntList> grams = new HashMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private int removed;
+
+    void add(String term) {
+        if (ids.containsKey(term)) {
+            return;
+        }
+        int id = terms.size();
+        terms.add(term);
+        ids.put(term, id);
+        for (long gram : grams(term)) {
+            grams.computeIfAbsent(gram, g -> new IntList()).add(id);
+        }
+    }
+
+    void remove(String term) {
+        Integer id = ids.remove(term);
+        if (id == null) {
+            return;
+        }
+        terms.set(id, null);
+        if (++removed > 1024 && removed > ids.size()) {
+            rebuild();
+        }
+    }
+
+    /** Terms within {@code maxDistance} edits of {@code query}, closest first, at most {@code limit}. */
+    List<Match> match(String query, int maxDistance, int limit) {
+        long[] queryGrams = grams(query);
+        int required = queryGrams.length - 3 * maxDistance;
+        if (maxDistance <= 0 || required <= 0) {
+            return ids.containsKey(query) ? List.of(new Match(query, 0)) : List.of();
+        }
+
+        // Any term sharing `required` of the query's grams has one among its rarest
+        // (length - required + 1) grams, so only those postings need scanning.
+        IntList[] lists = new IntList[queryGrams.length];
+        for (int i = 0; i < queryGrams.length; i++) {
+            lists[i] = grams.getOrDefault(queryGrams[i], IntList.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        Set<Integer> seen = new HashSet<>();
+        List<Match> matches = new ArrayList<>();
+        for (int g = 0; g <= queryGrams.length - required; g++) {
+            IntList list = lists[g];
+            for (int i = 0; i < list.size; i++) {
+                int id = list.values[i];
+                String term = terms.get(id);
+                if (term == null || Math.abs(term.length() - query.length()) > maxDistance || !seen.add(id)) {
+                    continue;
+                }
+                int distance = distance(query, term, maxDistance);
+                if (distance <= maxDistance) {
+                    matches.add(new Match(term, distance));
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /** Levenshtein distance, or {@code maxDistance + 1} as soon as it is known to exceed it. */
+    static int distance(String a, String b, int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    // Distinct trigrams of the term padded with two markers on each side, three chars packed per long.
+    private static long[] grams(String term) {
+        String padded = "" + PAD + PAD + term + PAD + PAD;
+        Set<Long> distinct = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            distinct.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        return distinct.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void rebuild() {
+        List<String> live = new ArrayList<>(ids.keySet());
+        grams.clear();
+        ids.clear();
+        terms.clear();
+        removed = 0;
+        live.forEach(this::add);
+    }
+
+    record Match(String term, int distance) {
+    }
+
+    private static final class IntList {
+        private static final IntList EMPTY = new IntList();
+
+        private int[] values = new int[2];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
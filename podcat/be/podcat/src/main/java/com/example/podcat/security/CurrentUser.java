@@ -0,0 +1,19 @@
+package com.example.podcat.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a {@code String} controller parameter to the username {@link JwtFilter} authenticated,
+ * so the token is not parsed again. A request without a valid token is answered with 401,
+ * unless {@code required} is false, in which case the parameter is null.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+    boolean required() default true;
+}
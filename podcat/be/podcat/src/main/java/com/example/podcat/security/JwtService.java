@@ -3,24 +3,58 @@ package com.example.podcat.security;
 import com.example.podcat.model.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies tokens. The key and parser are built once. A verified token is cached
+ * under the SHA-256 of its text until it expires, so each token's signature is checked once
+ * however many requests carry it; at most {@code podcat.jwt.cache.max-entries} are kept.
+ * Tokens that fail verification are never cached.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final Key signKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final int maxCachedTokens;
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    public JwtService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${jwt.expiration}") long jwtExpiration,
+                      @Value("${podcat.jwt.cache.max-entries:100000}") int maxCachedTokens,
+                      MeterRegistry meterRegistry) {
+        this.signKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.maxCachedTokens = maxCachedTokens;
+        this.cacheHits = Counter.builder("podcat.jwt.verifications")
+                .tag("outcome", "cached")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("podcat.jwt.verifications")
+                .tag("outcome", "verified")
+                .register(meterRegistry);
+        Gauge.builder("podcat.cache.size", verified, Map::size)
+                .tag("cache", "tokens")
+                .register(meterRegistry);
     }
 
     public String generateToken(String username, Set<Role> roles) {
@@ -32,7 +66,7 @@ public class JwtService {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     // public String generateToken(String userId, String username, Set<Role> roles) {
@@ -51,7 +85,7 @@ public class JwtService {
     
 
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return verifyOrThrow(token).username();
     }
     
     public String extractUserId(String token) {
@@ -59,24 +93,73 @@ public class JwtService {
     }
 
     public List<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("roles", List.class);
+        return verifyOrThrow(token).roles();
     }
 
     public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
+    /** The token's claims if its signature checks out and it has not expired. */
+    public Optional<VerifiedToken> verify(String token) {
         try {
-            extractAllClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return Optional.of(verifyOrThrow(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private VerifiedToken verifyOrThrow(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                cacheHits.increment();
+                return cached;
+            }
+            verified.remove(key, cached);
+        }
+        cacheMisses.increment();
+        VerifiedToken parsed = parse(token);
+        cache(key, parsed);
+        return parsed;
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        List<?> roleClaim = claims.get("roles", List.class);
+        List<String> roles = roleClaim == null ? List.of() : roleClaim.stream().map(String::valueOf).toList();
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(), roles, authorities,
+                expiration == null ? Instant.MAX : expiration.toInstant());
+    }
+
+    private void cache(String key, VerifiedToken token) {
+        if (verified.size() >= maxCachedTokens) {
+            Instant now = Instant.now();
+            verified.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+            if (verified.size() >= maxCachedTokens) {
+                // Still full of live tokens: drop a tenth, in no particular order, so the misses
+                // that follow do not sweep again.
+                Iterator<String> keys = verified.keySet().iterator();
+                for (int i = 0; i <= maxCachedTokens / 10 && keys.hasNext(); i++) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
         }
+        verified.put(key, token);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,140 @@
+package com.example.podcat.security;
+
+import com.example.podcat.model.Role;
+import com.example.podcat.model.User;
+import com.example.podcat.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Answers whether a user is an admin for the ownership checks in the services.
+ *
+ * <p>When the user is the authenticated principal, its authorities decide a denial outright:
+ * a token without {@code ROLE_ADMIN} never costs a lookup. A token that claims the role is
+ * confirmed against the stored roles, so an admin who is demoted loses the role within
+ * {@code podcat.roles.ttl-ms} rather than when their token expires. Stored roles are cached
+ * for that long, and dropped by {@link #invalidate} when they change.
+ *
+ * <p>Checks are timed as {@code podcat.authz.checks}, tagged with the outcome and where the
+ * answer came from: {@code principal}, {@code cache} or {@code mongo}.
+ */
+@Component
+public class RoleCache {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_" + Role.ADMIN.name();
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RoleCache(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${podcat.roles.ttl-ms:60000}") long ttlMillis,
+                     @Value("${podcat.roles.max-entries:1000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        Gauge.builder("podcat.cache.size", entries, Map::size)
+                .tag("cache", "roles")
+                .register(meterRegistry);
+    }
+
+    public boolean isAdmin(String username) {
+        long started = System.nanoTime();
+        String source;
+        boolean admin;
+        Authentication principal = principal(username);
+        if (principal != null && principal.getAuthorities().stream()
+                .noneMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()))) {
+            source = "principal";
+            admin = false;
+        } else {
+            Set<Role> cached = cached(username);
+            if (cached != null) {
+                source = "cache";
+            } else {
+                source = "mongo";
+                cached = load(username);
+            }
+            admin = cached.contains(Role.ADMIN);
+        }
+        timer(admin ? "granted" : "denied", source).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return admin;
+    }
+
+    /** Forgets the user's stored roles, for when they change or the user is created. */
+    public void invalidate(String username) {
+        lock.lock();
+        try {
+            entries.remove(username);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Authentication principal(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.getName().equals(username)) {
+            return null;
+        }
+        return authentication;
+    }
+
+    private Set<Role> cached(String username) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            return entry != null && entry.expiresAt() > System.currentTimeMillis() ? entry.roles() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<Role> load(String username) {
+        Set<Role> roles = userRepository.findByUsername(username)
+                .map(User::getRoles)
+                .map(Set::copyOf)
+                .orElse(Set.of());
+        lock.lock();
+        try {
+            entries.put(username, new Entry(roles, System.currentTimeMillis() + ttlMillis));
+            if (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return roles;
+    }
+
+    private Timer timer(String outcome, String source) {
+        return timers.computeIfAbsent(outcome + '/' + source, key -> Timer.builder("podcat.authz.checks")
+                .tag("outcome", outcome)
+                .tag("source", source)
+                .register(meterRegistry));
+    }
+
+    private record Entry(Set<Role> roles, long expiresAt) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.podcat.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/** What a verified token says about its bearer; authorities are built from the roles claim. */
+public record VerifiedToken(String username, List<String> roles, List<GrantedAuthority> authorities, Instant expiresAt) {
+}
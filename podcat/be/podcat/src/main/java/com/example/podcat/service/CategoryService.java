@@ -1,5 +1,6 @@
 package com.example.podcat.service;
 
+import com.example.podcat.cache.CategoryCache;
 import com.example.podcat.dto.CategoryRequest;
 import com.example.podcat.dto.CategoryResponse;
 import com.example.podcat.exception.ResourceNotFoundException;
@@ -9,7 +10,9 @@ import com.example.podcat.repository.PodcastRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,17 +21,31 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final PodcastRepository podcastRepository;
+    private final CategoryCache categoryCache;
 
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAll().stream()
+        return categoryCache.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    public ResourceVersion getAllCategoriesVersion() {
+        return new ResourceVersion(categoryCache.etag(), null);
+    }
+
     public CategoryResponse getCategoryById(String id) {
-        Category category = categoryRepository.findById(id)
+        return mapToResponse(findCategory(id));
+    }
+
+    public ResourceVersion getCategoryVersion(String id) {
+        Category category = findCategory(id);
+        return new ResourceVersion(Long.toString(category.getVersion()), category.getUpdatedAt());
+    }
+
+    private Category findCategory(String id) {
+        return categoryCache.findById(id)
+                .or(() -> categoryRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-        return mapToResponse(category);
     }
 
     public CategoryResponse createCategory(CategoryRequest request) {
@@ -36,9 +53,11 @@ public class CategoryService {
                 .name(request.getName())
                 .description(request.getDescription())
                 .imageUrl(request.getImageUrl())
+                .updatedAt(Instant.now())
                 .build();
         
         categoryRepository.save(category);
+        categoryCache.put(category);
         return mapToResponse(category);
     }
 
@@ -49,17 +68,24 @@ public class CategoryService {
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setImageUrl(request.getImageUrl());
+        category.setVersion(category.getVersion() + 1);
+        category.setUpdatedAt(Instant.now());
         
         categoryRepository.save(category);
+        categoryCache.put(category);
         return mapToResponse(category);
     }
 
     public void deleteCategory(String id) {
         categoryRepository.deleteById(id);
+        categoryCache.remove(id);
     }
 
     public List<CategoryResponse> searchCategories(String keyword) {
-        return categoryRepository.findByNameContainingIgnoreCase(keyword).stream()
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return categoryCache.findAll().stream()
+                .filter(category -> category.getName() != null
+                        && category.getName().toLowerCase(Locale.ROOT).contains(needle))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
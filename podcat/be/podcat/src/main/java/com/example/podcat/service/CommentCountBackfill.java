@@ -0,0 +1,75 @@
+package com.example.podcat.service;
+
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CommentRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.PodcastRepositoryCustom.CommentRecount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Gives podcasts created before {@code commentCount} existed their count, once. Every podcast
+ * not yet marked {@code commentsCounted} is recounted from the comments collection, whether or
+ * not a comment added since the upgrade already created the field; once all are marked this
+ * is a no-op.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentCountBackfill {
+
+    // Podcasts commented on while being recounted are skipped and tried again this many times.
+    static final int MAX_PASSES = 3;
+
+    private final CommentRepository commentRepository;
+    private final PodcastRepository podcastRepository;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int recounted = 0;
+            for (int pass = 0; pass < MAX_PASSES; pass++) {
+                // Versions are read before comments are counted, so a comment counted in between
+                // moves the version and its podcast's recount no longer applies. Only a comment
+                // caught between its two writes for the whole pass can be miscounted.
+                Map<String, Long> observed = new HashMap<>();
+                try (Stream<Podcast> podcasts = podcastRepository.streamCommentUncountedVersions()) {
+                    podcasts.forEach(podcast -> observed.put(podcast.getId(), podcast.getVersion()));
+                }
+                if (observed.isEmpty()) {
+                    break;
+                }
+                Map<String, Long> counts = commentRepository.countByPodcastId();
+                List<CommentRecount> recounts = observed.entrySet().stream()
+                        .map(podcast -> new CommentRecount(podcast.getKey(), podcast.getValue(),
+                                Math.toIntExact(counts.getOrDefault(podcast.getKey(), 0L))))
+                        .toList();
+                int set = podcastRepository.recountComments(recounts);
+                recounted += set;
+                if (set == recounts.size()) {
+                    break;
+                }
+                if (pass == MAX_PASSES - 1) {
+                    log.info("{} podcasts kept changing while their comments were counted; they are retried at the next start",
+                            recounts.size() - set);
+                }
+            }
+            if (recounted > 0) {
+                log.info("Recounted comments of {} podcasts", recounted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not backfill comment counts", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.podcat.service;
+
+import com.example.podcat.dto.CursorPageResponse;
+import com.example.podcat.exception.BadRequestException;
+import com.example.podcat.repository.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+final class CursorPages {
+
+    private CursorPages() {
+    }
+
+    /** Rows to fetch for a page of {@code size}: one extra tells whether another page follows. */
+    static int fetchSize(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must not be less than one");
+        }
+        return size + 1;
+    }
+
+    static <T, R> CursorPageResponse<R> of(List<T> rows, int size,
+                                           Function<T, KeysetCursor> position,
+                                           Function<List<T>, List<R>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? position.apply(page.get(size - 1)).encode() : null;
+        return new CursorPageResponse<>(mapper.apply(page), size, nextCursor, hasNext);
+    }
+}
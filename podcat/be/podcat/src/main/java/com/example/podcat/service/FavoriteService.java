@@ -1,20 +1,28 @@
 package com.example.podcat.service;
 
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.dto.CursorPageResponse;
 import com.example.podcat.dto.PageResponse;
 import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.dto.SliceResponse;
 import com.example.podcat.exception.ResourceNotFoundException;
 import com.example.podcat.model.Favorite;
 import com.example.podcat.model.Podcast;
-import com.example.podcat.repository.CategoryRepository;
 import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.KeysetCursor;
 import com.example.podcat.repository.PodcastRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,82 +31,103 @@ public class FavoriteService {
 
     private final FavoriteRepository favoriteRepository;
     private final PodcastRepository podcastRepository;
-    private final CategoryRepository categoryRepository;
+    private final PodcastHydrator hydrator;
+    private final LikedPodcastIndex likedIndex;
+    private final CountCache countCache;
 
     public void toggleFavorite(String userId, String podcastId) {
-        if (!podcastRepository.existsById(podcastId)) {
+        // The liked index tells which way the toggle most likely goes, so it usually costs one
+        // favorites write and one $inc. If the index was stale, that first write is a no-op and
+        // the toggle goes the other way.
+        boolean liked;
+        if (likedIndex.isLiked(userId, podcastId)) {
+            liked = !unlike(userId, podcastId);
+            if (liked) {
+                like(userId, podcastId);
+            }
+        } else {
+            liked = like(userId, podcastId);
+            if (!liked) {
+                unlike(userId, podcastId);
+            }
+        }
+        likedIndex.onToggle(userId, podcastId, liked);
+        countCache.invalidate("favorites:" + userId);
+    }
+
+    private boolean like(String userId, String podcastId) {
+        Favorite favorite = Favorite.builder()
+                .userId(userId)
+                .podcastId(podcastId)
+                .createdAt(Instant.now())
+                .build();
+        if (!favoriteRepository.insertIfAbsent(favorite)) {
+            return false;
+        }
+        if (!podcastRepository.incrementLikeCount(podcastId, 1)) {
+            favoriteRepository.deleteByUserIdAndPodcastId(userId, podcastId);
             throw new ResourceNotFoundException("Podcast not found");
         }
-        
-        var favorite = favoriteRepository.findByUserIdAndPodcastId(userId, podcastId);
-        
-        if (favorite.isPresent()) {
-            favoriteRepository.delete(favorite.get());
-            
-            // Decrement like count
-            Podcast podcast = podcastRepository.findById(podcastId).get();
-            podcast.setLikeCount(Math.max(0, podcast.getLikeCount() - 1));
-            podcastRepository.save(podcast);
-        } else {
-            Favorite newFavorite = Favorite.builder()
-                    .userId(userId)
-                    .podcastId(podcastId)
-                    .createdAt(Instant.now())
-                    .build();
-            favoriteRepository.save(newFavorite);
-            
-            // Increment like count
-            Podcast podcast = podcastRepository.findById(podcastId).get();
-            podcast.setLikeCount(podcast.getLikeCount() + 1);
-            podcastRepository.save(podcast);
+        return true;
+    }
+
+    private boolean unlike(String userId, String podcastId) {
+        if (favoriteRepository.deleteByUserIdAndPodcastId(userId, podcastId) == 0) {
+            return false;
         }
+        podcastRepository.incrementLikeCount(podcastId, -1);
+        return true;
     }
 
     public boolean isFavorite(String userId, String podcastId) {
-        return favoriteRepository.existsByUserIdAndPodcastId(userId, podcastId);
+        return likedIndex.isLiked(userId, podcastId);
     }
 
     public PageResponse<PodcastResponse> getUserFavorites(String userId, Pageable pageable) {
-        Page<Favorite> favoritesPage = favoriteRepository
-                .findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        
-        List<PodcastResponse> content = favoritesPage.getContent().stream()
-                .map(favorite -> {
-                    Podcast podcast = podcastRepository.findById(favorite.getPodcastId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
-                    
-                    String categoryName = null;
-                    if (podcast.getCategoryId() != null) {
-                        categoryName = categoryRepository.findById(podcast.getCategoryId())
-                                .map(category -> category.getName())
-                                .orElse(null);
-                    }
-                    
-                    return PodcastResponse.builder()
-                            .id(podcast.getId())
-                            .title(podcast.getTitle())
-                            .description(podcast.getDescription())
-                            .audioUrl(podcast.getAudioUrl())
-                            .imageUrl(podcast.getImageUrl())
-                            .createdAt(podcast.getCreatedAt().toString())
-                            .userId(podcast.getUserId())
-                            .categoryId(podcast.getCategoryId())
-                            .categoryName(categoryName)
-                            .tags(podcast.getTags())
-                            .viewCount(podcast.getViewCount())
-                            .likeCount(podcast.getLikeCount())
-                            .duration(podcast.getDuration())
-                            .isLiked(true) // It's in favorites, so it's liked
-                            .build();
-                })
-                .collect(Collectors.toList());
+        Slice<Favorite> slice = favoriteRepository.findSliceByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Page<Favorite> favoritesPage = countCache.page(slice, "favorites:" + userId,
+                () -> favoriteRepository.countByUserId(userId));
         
         return new PageResponse<>(
-                content,
+                toResponses(favoritesPage.getContent()),
                 favoritesPage.getNumber(),
                 favoritesPage.getSize(),
                 favoritesPage.getTotalElements(),
                 favoritesPage.getTotalPages()
         );
     }
+
+    public SliceResponse<PodcastResponse> getUserFavoritesSlice(String userId, Pageable pageable) {
+        countCache.skipped("favorites");
+        Slice<Favorite> slice = favoriteRepository.findSliceByUserIdOrderByCreatedAtDesc(userId, pageable);
+        return new SliceResponse<>(
+                toResponses(slice.getContent()),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext()
+        );
+    }
+
+    public CursorPageResponse<PodcastResponse> getUserFavorites(String userId, String cursor, int size) {
+        List<Favorite> favorites = favoriteRepository
+                .findLatestByUserId(userId, KeysetCursor.decode(cursor), CursorPages.fetchSize(size));
+        return CursorPages.of(favorites, size,
+                favorite -> KeysetCursor.after(favorite.getCreatedAt(), favorite.getId()),
+                this::toResponses);
+    }
+
+    // One query for the whole page, in favorites order; favorites of deleted podcasts are skipped.
+    private List<PodcastResponse> toResponses(List<Favorite> favorites) {
+        if (favorites.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Podcast> podcasts = podcastRepository.findCardsByIdIn(
+                        favorites.stream().map(Favorite::getPodcastId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Podcast::getId, Function.identity()));
+        return hydrator.toLikedResponses(favorites.stream()
+                .map(favorite -> podcasts.get(favorite.getPodcastId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
 }
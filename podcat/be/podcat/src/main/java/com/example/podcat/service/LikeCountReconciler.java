@@ -0,0 +1,113 @@
+package com.example.podcat.service;
+
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.PodcastRepositoryCustom.LikeCountCorrection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes every podcast's {@code likeCount} from the favorites collection and reports the
+ * drift, e.g. from likes counted before toggling was made atomic. With
+ * {@code podcat.likes.reconcile.correct} it also fixes the counts, each only if it has not
+ * moved since it was read.
+ */
+@Slf4j
+@Component
+public class LikeCountReconciler {
+
+    private final PodcastRepository podcastRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final boolean correct;
+
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicLong driftedPodcasts = new AtomicLong();
+    private final AtomicLong totalDrift = new AtomicLong();
+    private final Counter corrections;
+
+    public LikeCountReconciler(PodcastRepository podcastRepository,
+                               FavoriteRepository favoriteRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${podcat.likes.reconcile.correct:true}") boolean correct) {
+        this.podcastRepository = podcastRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.correct = correct;
+        Gauge.builder("podcat.likes.drift.podcasts", driftedPodcasts, AtomicLong::get)
+                .description("Podcasts whose like count disagreed with favorites in the last run")
+                .register(meterRegistry);
+        Gauge.builder("podcat.likes.drift.total", totalDrift, AtomicLong::get)
+                .description("Sum of absolute like count drift in the last run")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("podcat.likes.corrections")
+                .register(meterRegistry);
+    }
+
+    @Async
+    @Scheduled(cron = "${podcat.likes.reconcile.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public Report reconcile() {
+        if (!runLock.tryLock()) {
+            return null;
+        }
+        try {
+            // Like counts are read before favorites are counted, so a toggle that completes in
+            // between shows up as drift whose correction no longer matches and is skipped. Only
+            // a toggle caught between its two writes can be miscorrected; the next run repairs it.
+            Map<String, Integer> observed = new HashMap<>();
+            try (Stream<Podcast> podcasts = podcastRepository.streamAllLikeCounts()) {
+                podcasts.forEach(podcast -> observed.put(podcast.getId(), podcast.getLikeCount()));
+            }
+            Map<String, Long> actual = favoriteRepository.countByPodcastId();
+
+            List<LikeCountCorrection> drifted = new ArrayList<>();
+            long drift = 0;
+            for (Map.Entry<String, Integer> podcast : observed.entrySet()) {
+                int favorites = actual.getOrDefault(podcast.getKey(), 0L).intValue();
+                if (favorites != podcast.getValue()) {
+                    drifted.add(new LikeCountCorrection(podcast.getKey(), podcast.getValue(), favorites));
+                    drift += Math.abs(favorites - podcast.getValue());
+                }
+            }
+            long orphaned = actual.entrySet().stream()
+                    .filter(entry -> !observed.containsKey(entry.getKey()))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+
+            int corrected = correct ? podcastRepository.correctLikeCounts(drifted) : 0;
+            corrections.increment(corrected);
+            driftedPodcasts.set(drifted.size());
+            totalDrift.set(drift);
+
+            Report report = new Report(observed.size(), drifted.size(), drift, corrected, orphaned);
+            if (drifted.isEmpty()) {
+                log.info("Like counts reconciled: {}", report);
+            } else {
+                log.warn("Like counts drifted: {}", report);
+            }
+            return report;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    public record Report(int podcasts, int drifted, long totalDrift, int corrected, long orphanedFavorites) {
+    }
+}
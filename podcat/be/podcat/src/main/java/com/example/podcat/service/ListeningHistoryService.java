@@ -1,20 +1,30 @@
 package com.example.podcat.service;
 
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.dto.CursorPageResponse;
 import com.example.podcat.dto.ListeningHistoryRequest;
 import com.example.podcat.dto.ListeningHistoryResponse;
 import com.example.podcat.dto.PageResponse;
-import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.dto.SliceResponse;
+import com.example.podcat.exception.BadRequestException;
+import com.example.podcat.ingest.ProgressIngestBuffer;
 import com.example.podcat.model.ListeningHistory;
 import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.KeysetCursor;
 import com.example.podcat.repository.ListeningHistoryRepository;
 import com.example.podcat.repository.PodcastRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,46 +33,23 @@ public class ListeningHistoryService {
 
     private final ListeningHistoryRepository listeningHistoryRepository;
     private final PodcastRepository podcastRepository;
+    private final CountCache countCache;
+    private final ProgressIngestBuffer progressBuffer;
 
-    public ListeningHistoryResponse saveProgress(String userId, ListeningHistoryRequest request) {
-        Podcast podcast = podcastRepository.findById(request.getPodcastId())
-                .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
-        
-        ListeningHistory history = listeningHistoryRepository
-                .findByUserIdAndPodcastId(userId, request.getPodcastId())
-                .orElse(ListeningHistory.builder()
-                        .userId(userId)
-                        .podcastId(request.getPodcastId())
-                        .build());
-        
-        history.setProgress(request.getProgress());
-        history.setListenedAt(Instant.now());
-        
-        listeningHistoryRepository.save(history);
-        
-        // Increment view count if this is a new view
-        if (history.getId() == null) {
-            podcast.setViewCount(podcast.getViewCount() + 1);
-            podcastRepository.save(podcast);
+    public void saveProgress(String userId, ListeningHistoryRequest request) {
+        if (request.getPodcastId() == null || request.getPodcastId().isBlank()) {
+            throw new BadRequestException("podcastId is required");
         }
-        
-        return mapToResponse(history, podcast);
+        progressBuffer.offer(userId, request.getPodcastId(), request.getProgress(), Instant.now());
     }
 
     public PageResponse<ListeningHistoryResponse> getUserHistory(String userId, Pageable pageable) {
-        Page<ListeningHistory> historyPage = listeningHistoryRepository
-                .findByUserIdOrderByListenedAtDesc(userId, pageable);
-        
-        List<ListeningHistoryResponse> content = historyPage.getContent().stream()
-                .map(history -> {
-                    Podcast podcast = podcastRepository.findById(history.getPodcastId())
-                            .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
-                    return mapToResponse(history, podcast);
-                })
-                .collect(Collectors.toList());
+        Slice<ListeningHistory> slice = listeningHistoryRepository.findSliceByUserIdOrderByListenedAtDesc(userId, pageable);
+        Page<ListeningHistory> historyPage = countCache.page(slice, "history:" + userId,
+                () -> listeningHistoryRepository.countByUserId(userId));
         
         return new PageResponse<>(
-                content,
+                toResponses(overlayPending(userId, historyPage.getContent(), pageable.getOffset() == 0)),
                 historyPage.getNumber(),
                 historyPage.getSize(),
                 historyPage.getTotalElements(),
@@ -70,6 +57,70 @@ public class ListeningHistoryService {
         );
     }
 
+    public SliceResponse<ListeningHistoryResponse> getUserHistorySlice(String userId, Pageable pageable) {
+        countCache.skipped("history");
+        Slice<ListeningHistory> slice = listeningHistoryRepository.findSliceByUserIdOrderByListenedAtDesc(userId, pageable);
+        return new SliceResponse<>(
+                toResponses(overlayPending(userId, slice.getContent(), pageable.getOffset() == 0)),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext()
+        );
+    }
+
+    public CursorPageResponse<ListeningHistoryResponse> getUserHistory(String userId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<ListeningHistory> history = listeningHistoryRepository
+                .findLatestByUserId(userId, after, CursorPages.fetchSize(size));
+        return CursorPages.of(history, size,
+                entry -> KeysetCursor.after(entry.getListenedAt(), entry.getId()),
+                page -> toResponses(overlayPending(userId, page, after == null)));
+    }
+
+    /**
+     * Adds the user's progress that is still buffered to the rows read from Mongo, so a read
+     * never waits for a write. Buffered progress is the newest for its podcast: it leads the
+     * first page, which may then run a little over size, taking the stored row's id when that
+     * row is on the page, and the stale stored row is left out of every page.
+     */
+    private List<ListeningHistory> overlayPending(String userId, List<ListeningHistory> history, boolean firstPage) {
+        List<ListeningHistory> pending = progressBuffer.pendingHistory(userId);
+        if (pending.isEmpty()) {
+            return history;
+        }
+        Map<String, ListeningHistory> pendingByPodcast = pending.stream()
+                .collect(Collectors.toMap(ListeningHistory::getPodcastId, Function.identity()));
+        List<ListeningHistory> merged = new ArrayList<>(history.size() + pending.size());
+        for (ListeningHistory row : history) {
+            ListeningHistory buffered = pendingByPodcast.get(row.getPodcastId());
+            if (buffered == null) {
+                merged.add(row);
+            } else {
+                buffered.setId(row.getId());
+            }
+        }
+        if (firstPage) {
+            merged.addAll(pending);
+            merged.sort(Comparator.comparing(ListeningHistory::getListenedAt).reversed());
+        }
+        return merged;
+    }
+
+    // One query for the whole page, in history order; entries of deleted podcasts are skipped.
+    private List<ListeningHistoryResponse> toResponses(List<ListeningHistory> history) {
+        if (history.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Podcast> podcasts = podcastRepository.findHistoryCardsByIdIn(
+                        history.stream().map(ListeningHistory::getPodcastId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Podcast::getId, Function.identity()));
+        return history.stream()
+                .filter(entry -> podcasts.containsKey(entry.getPodcastId()))
+                .map(entry -> mapToResponse(entry, podcasts.get(entry.getPodcastId())))
+                .collect(Collectors.toList());
+    }
+
     private ListeningHistoryResponse mapToResponse(ListeningHistory history, Podcast podcast) {
         return ListeningHistoryResponse.builder()
                 .id(history.getId())
@@ -0,0 +1,7 @@
+package com.example.podcat.service;
+
+import com.example.podcat.dto.PodcastResponse;
+
+/** A podcast's detail view for one user, and validators that cover everything in it. */
+public record PodcastDetail(PodcastResponse response, ResourceVersion version) {
+}
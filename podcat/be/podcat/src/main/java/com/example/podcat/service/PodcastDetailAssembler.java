@@ -0,0 +1,244 @@
+package com.example.podcat.service;
+
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.dto.AuthorProfileResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.ingest.ProgressIngestBuffer;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.model.UserProfile;
+import com.example.podcat.repository.ListeningHistoryRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.UserProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds a podcast's detail view. The podcast, the user's liked flag and their listening progress
+ * are looked up at once, and the author's profile as soon as the podcast names its author, each
+ * on a virtual thread of its own; the category comes from {@link CategoryCache}. A detail takes
+ * about as long as the podcast and profile lookups together, however many other parts it has.
+ *
+ * <p>Progress and profile are optional. Whichever is not there {@code podcat.podcasts.detail.deadline-ms}
+ * after the detail was asked for is left null and counted in {@code podcat.podcasts.detail.degraded},
+ * and the detail then has no validators, so it is never revalidated as current. Lookups still
+ * running when the detail is done are cancelled.
+ *
+ * <p>{@link #currentVersion} gives the same validators without loading the podcast or the
+ * profile, so a conditional request that still matches is answered before any of this runs.
+ */
+@Slf4j
+@Component
+public class PodcastDetailAssembler {
+
+    private final PodcastRepository podcastRepository;
+    private final ListeningHistoryRepository listeningHistoryRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final ProgressIngestBuffer progressBuffer;
+    private final CategoryCache categoryCache;
+    private final LikedPodcastIndex likedIndex;
+    private final MeterRegistry meterRegistry;
+    private final long deadlineMillis;
+
+    private final ExecutorService lookupThreads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("podcast-detail-", 1).factory());
+
+    public PodcastDetailAssembler(PodcastRepository podcastRepository,
+                                  ListeningHistoryRepository listeningHistoryRepository,
+                                  UserProfileRepository userProfileRepository,
+                                  ProgressIngestBuffer progressBuffer,
+                                  CategoryCache categoryCache,
+                                  LikedPodcastIndex likedIndex,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${podcat.podcasts.detail.deadline-ms:200}") long deadlineMillis) {
+        this.podcastRepository = podcastRepository;
+        this.listeningHistoryRepository = listeningHistoryRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.progressBuffer = progressBuffer;
+        this.categoryCache = categoryCache;
+        this.likedIndex = likedIndex;
+        this.meterRegistry = meterRegistry;
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public PodcastDetail assemble(String podcastId, String userId) {
+        try (Lookups lookups = new Lookups(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis))) {
+            Future<Boolean> liked = lookups.fork(() -> likedIndex.isLiked(userId, podcastId));
+            Future<Integer> progress = userId != null ? lookups.fork(() -> progress(userId, podcastId)) : null;
+            Podcast podcast = podcastRepository.findById(podcastId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
+            Future<UserProfile> author = podcast.getUserId() != null
+                    ? lookups.fork(() -> userProfileRepository.findByUserId(podcast.getUserId()).orElse(null))
+                    : null;
+            Optional<Category> category = category(podcast);
+
+            boolean isLiked = lookups.join(liked);
+            Integer listeningProgress = progress != null ? lookups.joinOptional(progress, "progress") : null;
+            UserProfile authorProfile = author != null ? lookups.joinOptional(author, "author") : null;
+
+            PodcastResponse response = PodcastHydrator.map(podcast, category.map(Category::getName).orElse(null), isLiked);
+            response.setListeningProgress(listeningProgress);
+            response.setAuthorProfile(authorProfile != null ? toAuthorResponse(authorProfile) : null);
+            ResourceVersion version = lookups.degraded
+                    ? ResourceVersion.NONE
+                    : version(podcast, category, isLiked, listeningProgress, userId);
+            return new PodcastDetail(response, version);
+        }
+    }
+
+    /**
+     * The validators {@link #assemble} would give the detail now, from the podcast's version
+     * fields and the caller's liked flag and progress; the podcast document and the author's
+     * profile are not loaded. {@link ResourceVersion#NONE} when the progress is not there by the
+     * deadline.
+     */
+    public ResourceVersion currentVersion(String podcastId, String userId) {
+        try (Lookups lookups = new Lookups(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis))) {
+            Future<Boolean> liked = lookups.fork(() -> likedIndex.isLiked(userId, podcastId));
+            Future<Integer> progress = userId != null ? lookups.fork(() -> progress(userId, podcastId)) : null;
+            Podcast podcast = podcastRepository.findVersionById(podcastId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
+
+            boolean isLiked = lookups.join(liked);
+            Integer listeningProgress = progress != null ? lookups.joinOptional(progress, "progress") : null;
+            return lookups.degraded
+                    ? ResourceVersion.NONE
+                    : version(podcast, category(podcast), isLiked, listeningProgress, userId);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lookupThreads.shutdownNow();
+    }
+
+    private Optional<Category> category(Podcast podcast) {
+        return podcast.getCategoryId() != null ? categoryCache.findById(podcast.getCategoryId()) : Optional.empty();
+    }
+
+    // Progress still in the write-behind buffer is newer than what Mongo has.
+    private Integer progress(String userId, String podcastId) {
+        OptionalInt pending = progressBuffer.pendingProgress(userId, podcastId);
+        if (pending.isPresent()) {
+            return pending.getAsInt();
+        }
+        return listeningHistoryRepository.findByUserIdAndPodcastId(userId, podcastId)
+                .map(ListeningHistory::getProgress)
+                .orElse(null);
+    }
+
+    /**
+     * The ETag covers everything the detail is built from, bar the view count: the podcast's
+     * version, which an edit of the author's profile also moves, its category's, the liked flag
+     * and the progress.
+     * Neither a like nor progress moves a timestamp we keep, so Last-Modified is only given for
+     * anonymous requests.
+     */
+    private static ResourceVersion version(Podcast podcast, Optional<Category> category, boolean liked,
+                                           Integer progress, String userId) {
+        String etag = podcast.getVersion()
+                + "." + category.map(Category::getVersion).orElse(-1L)
+                + "." + (liked ? 1 : 0)
+                + "." + (progress != null ? progress : "-");
+        if (userId != null) {
+            return new ResourceVersion(etag, null);
+        }
+        Instant lastModified = podcast.getUpdatedAt() != null ? podcast.getUpdatedAt() : podcast.getCreatedAt();
+        Instant categoryModified = category.map(Category::getUpdatedAt).orElse(null);
+        if (lastModified != null && categoryModified != null && categoryModified.isAfter(lastModified)) {
+            lastModified = categoryModified;
+        }
+        return new ResourceVersion(etag, lastModified);
+    }
+
+    private static AuthorProfileResponse toAuthorResponse(UserProfile profile) {
+        return AuthorProfileResponse.builder()
+                .userId(profile.getUserId())
+                .name(profile.getName())
+                .bio(profile.getBio())
+                .avatarUrl(profile.getAvatarUrl())
+                .build();
+    }
+
+    // The lookups of one detail. Closing it cancels whatever is still running, so no lookup
+    // outlives the request that forked it.
+    private final class Lookups implements AutoCloseable {
+        private final long deadline;
+        private final List<Future<?>> forked = new ArrayList<>();
+        private boolean degraded;
+
+        Lookups(long deadline) {
+            this.deadline = deadline;
+        }
+
+        <T> Future<T> fork(Callable<T> lookup) {
+            Future<T> future = lookupThreads.submit(lookup);
+            forked.add(future);
+            return future;
+        }
+
+        /** The lookup's result, however long it takes; its failure fails the detail. */
+        <T> T join(Future<T> lookup) {
+            try {
+                return lookup.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while assembling a podcast detail", e);
+            }
+        }
+
+        /** The lookup's result, or null when it fails or is not done by the deadline. */
+        <T> T joinOptional(Future<T> lookup, String part) {
+            try {
+                return lookup.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                degrade(part);
+            } catch (ExecutionException e) {
+                log.warn("Could not load the {} of a podcast detail", part, e.getCause());
+                degrade(part);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                degrade(part);
+            }
+            return null;
+        }
+
+        private void degrade(String part) {
+            degraded = true;
+            Counter.builder("podcat.podcasts.detail.degraded")
+                    .tag("part", part)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        @Override
+        public void close() {
+            forked.forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.podcat.service;
+
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.cache.PodcastIdSet;
+import com.example.podcat.dto.PageResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.dto.PodcastSummaryResponse;
+import com.example.podcat.dto.SliceResponse;
+import com.example.podcat.model.Podcast;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link PodcastResponse}s for a whole batch of podcasts at once. Category names come
+ * from {@link CategoryCache} and liked flags from {@link LikedPodcastIndex}, so hydrating a
+ * page costs no extra round trips whatever its size.
+ */
+@Component
+@RequiredArgsConstructor
+public class PodcastHydrator {
+
+    private final CategoryCache categoryCache;
+    private final LikedPodcastIndex likedIndex;
+
+    public PageResponse<PodcastResponse> toPageResponse(Page<Podcast> page, String userId) {
+        return new PageResponse<>(
+                toResponses(page.getContent(), userId),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+
+    public SliceResponse<PodcastResponse> toSliceResponse(Slice<Podcast> slice, String userId) {
+        return new SliceResponse<>(
+                toResponses(slice.getContent(), userId),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext()
+        );
+    }
+
+    public PodcastResponse toResponse(Podcast podcast, String userId) {
+        return toResponses(List.of(podcast), userId).get(0);
+    }
+
+    public List<PodcastResponse> toResponses(List<Podcast> podcasts, String userId) {
+        if (podcasts.isEmpty()) {
+            return List.of();
+        }
+
+        PodcastIdSet likedIds = likedIndex.likedBy(userId);
+
+        return podcasts.stream()
+                .map(podcast -> map(podcast,
+                        podcast.getCategoryId() != null ? categoryCache.findName(podcast.getCategoryId()) : null,
+                        likedIds.contains(podcast.getId())))
+                .collect(Collectors.toList());
+    }
+
+    public PageResponse<PodcastSummaryResponse> toSummaryPageResponse(Page<Podcast> page) {
+        return new PageResponse<>(
+                toSummaries(page.getContent()),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+
+    public SliceResponse<PodcastSummaryResponse> toSummarySliceResponse(Slice<Podcast> slice) {
+        return new SliceResponse<>(
+                toSummaries(slice.getContent()),
+                slice.getNumber(),
+                slice.getSize(),
+                slice.hasNext()
+        );
+    }
+
+    /** Summaries need neither category names nor liked flags, so they cost no lookups at all. */
+    public List<PodcastSummaryResponse> toSummaries(List<Podcast> podcasts) {
+        return podcasts.stream()
+                .map(podcast -> PodcastSummaryResponse.builder()
+                        .id(podcast.getId())
+                        .title(podcast.getTitle())
+                        .author(podcast.getAuthor())
+                        .imageUrl(podcast.getImageUrl())
+                        .duration(podcast.getDuration())
+                        .commentCount(podcast.getCommentCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /** Responses for podcasts the user is known to like, such as their favorites. */
+    public List<PodcastResponse> toLikedResponses(List<Podcast> podcasts) {
+        return podcasts.stream()
+                .map(podcast -> map(podcast,
+                        podcast.getCategoryId() != null ? categoryCache.findName(podcast.getCategoryId()) : null,
+                        true))
+                .collect(Collectors.toList());
+    }
+
+    /** The response for a podcast whose category name and liked flag are already known. */
+    public static PodcastResponse map(Podcast podcast, String categoryName, boolean isLiked) {
+        return PodcastResponse.builder()
+                .id(podcast.getId())
+                .title(podcast.getTitle())
+                .description(podcast.getDescription())
+                .author(podcast.getAuthor())
+                .audioUrl(podcast.getAudioUrl())
+                .imageUrl(podcast.getImageUrl())
+                .createdAt(podcast.getCreatedAt().toString())
+                .userId(podcast.getUserId())
+                .categoryId(podcast.getCategoryId())
+                .categoryName(categoryName)
+                .tags(podcast.getTags())
+                .viewCount(podcast.getViewCount())
+                .likeCount(podcast.getLikeCount())
+                .commentCount(podcast.getCommentCount())
+                .duration(podcast.getDuration())
+                .isLiked(isLiked)
+                .build();
+    }
+}
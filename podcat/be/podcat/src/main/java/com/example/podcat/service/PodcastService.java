@@ -1,25 +1,40 @@
 package com.example.podcat.service;
 
+import com.example.podcat.cache.CountCache;
 import com.example.podcat.dto.*;
+import com.example.podcat.exception.BadRequestException;
 import com.example.podcat.exception.ResourceNotFoundException;
 import com.example.podcat.exception.UnauthorizedException;
-import com.example.podcat.model.Category;
 import com.example.podcat.model.Comment;
 import com.example.podcat.model.Podcast;
-import com.example.podcat.model.Role;
-import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.KeysetCursor;
 import com.example.podcat.repository.CommentRepository;
-import com.example.podcat.repository.FavoriteRepository;
 import com.example.podcat.repository.PodcastRepository;
-import com.example.podcat.repository.UserRepository;
+import com.example.podcat.search.InvertedIndex;
+import com.example.podcat.search.PodcastSearchIndex;
+import com.example.podcat.search.PodcastSuggester;
+import com.example.podcat.security.RoleCache;
+import com.example.podcat.stream.CommentStreamRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,96 +43,206 @@ public class PodcastService {
 
     private final PodcastRepository repository;
     private final CommentRepository commentRepository;
-    private final CategoryRepository categoryRepository;
-    private final FavoriteRepository favoriteRepository;
-    private final UserRepository userRepository;
+    private final RoleCache roleCache;
+    private final PodcastHydrator hydrator;
+    private final PodcastDetailAssembler detailAssembler;
+    private final PodcastSearchIndex searchIndex;
+    private final PodcastSuggester suggester;
+    private final CountCache countCache;
+    private final CommentStreamRegistry commentStreams;
+
+    private static final int UNPAGED_COMMENTS_LIMIT = 200;
 
     public PodcastResponse create(String userId, PodcastRequest req) {
+        Instant now = Instant.now();
         Podcast podcast = Podcast.builder()
                 .title(req.getTitle())
                 .description(req.getDescription())
                 .author(req.getAuthor())
                 .audioUrl(req.getAudioUrl())
                 .imageUrl(req.getImageUrl())
-                .createdAt(Instant.now())
+                .createdAt(now)
+                .updatedAt(now)
                 .userId(userId)
                 .categoryId(req.getCategoryId())
                 .tags(req.getTags())
                 .duration(req.getDuration())
+                .commentsCounted(true)
                 .build();
 
         repository.save(podcast);
-        return toResponse(podcast, userId);
+        searchIndex.index(podcast);
+        suggester.markDirty();
+        countCache.invalidateListing("podcasts");
+        return hydrator.toResponse(podcast, userId);
     }
 
     public PageResponse<PodcastResponse> getAll(String userId, Pageable pageable) {
-        Page<Podcast> podcastPage = repository.findAll(pageable);
-        
-        List<PodcastResponse> content = podcastPage.getContent().stream()
-                .map(podcast -> toResponse(podcast, userId))
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(
-                content,
-                podcastPage.getNumber(),
-                podcastPage.getSize(),
-                podcastPage.getTotalElements(),
-                podcastPage.getTotalPages()
-        );
+        Slice<Podcast> slice = repository.findSliceBy(pageable);
+        return hydrator.toPageResponse(countCache.page(slice, "podcasts", repository::count), userId);
     }
 
-    public PodcastResponse getById(String id, String userId) {
-        Podcast podcast = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
-        return toResponse(podcast, userId);
+    public SliceResponse<PodcastResponse> getAllSlice(String userId, Pageable pageable) {
+        countCache.skipped("podcasts");
+        return hydrator.toSliceResponse(repository.findSliceBy(pageable), userId);
     }
 
-    public PageResponse<PodcastResponse> search(String keyword, String userId, Pageable pageable) {
-        Page<Podcast> podcastPage = repository.findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable);
-        
-        List<PodcastResponse> content = podcastPage.getContent().stream()
-                .map(podcast -> toResponse(podcast, userId))
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(
-                content,
-                podcastPage.getNumber(),
-                podcastPage.getSize(),
-                podcastPage.getTotalElements(),
-                podcastPage.getTotalPages()
-        );
+    public PageResponse<PodcastSummaryResponse> getAllSummaries(Pageable pageable) {
+        Slice<Podcast> slice = repository.findSummarySliceBy(pageable);
+        return hydrator.toSummaryPageResponse(countCache.page(slice, "podcasts", repository::count));
+    }
+
+    public SliceResponse<PodcastSummaryResponse> getAllSummariesSlice(Pageable pageable) {
+        countCache.skipped("podcasts");
+        return hydrator.toSummarySliceResponse(repository.findSummarySliceBy(pageable));
+    }
+
+    public CursorPageResponse<PodcastResponse> getLatest(String userId, String cursor, int size) {
+        List<Podcast> podcasts = repository.findLatest(KeysetCursor.decode(cursor), CursorPages.fetchSize(size));
+        return CursorPages.of(podcasts, size,
+                podcast -> KeysetCursor.after(podcast.getCreatedAt(), podcast.getId()),
+                page -> hydrator.toResponses(page, userId));
+    }
+
+    public CursorPageResponse<PodcastSummaryResponse> getLatestSummaries(String cursor, int size) {
+        List<Podcast> podcasts = repository.findLatestSummaries(KeysetCursor.decode(cursor), CursorPages.fetchSize(size));
+        return CursorPages.of(podcasts, size,
+                podcast -> KeysetCursor.after(podcast.getCreatedAt(), podcast.getId()),
+                hydrator::toSummaries);
+    }
+
+    /** Validators of the podcast's detail for the user, without building the detail. */
+    public ResourceVersion getVersion(String id, String userId) {
+        return detailAssembler.currentVersion(id, userId);
+    }
+
+    public PodcastDetail getDetail(String id, String userId) {
+        return detailAssembler.assemble(id, userId);
+    }
+
+    public PageResponse<PodcastResponse> search(String keyword, boolean fuzzy, String userId, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            Slice<Podcast> slice = repository.findSliceByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable);
+            Page<Podcast> podcastPage = countCache.page(slice, "podcasts:search:" + keyword.toLowerCase(Locale.ROOT),
+                    () -> repository.countByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword));
+            return hydrator.toPageResponse(podcastPage, userId);
+        }
+
+        InvertedIndex.Hits hits = searchIndex.search(keyword, fuzzy, searchOffset(pageable), pageable.getPageSize());
+        return hydrator.toPageResponse(new PageImpl<>(ranked(hits, repository::findAllById), pageable, hits.total()), userId);
+    }
+
+    public SliceResponse<PodcastResponse> searchSlice(String keyword, boolean fuzzy, String userId, Pageable pageable) {
+        countCache.skipped("podcasts");
+        if (!searchIndex.isReady()) {
+            Slice<Podcast> slice = repository.findSliceByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable);
+            return hydrator.toSliceResponse(slice, userId);
+        }
+
+        InvertedIndex.Hits hits = searchIndex.search(keyword, fuzzy, searchOffset(pageable), pageable.getPageSize());
+        boolean hasNext = pageable.getOffset() + pageable.getPageSize() < hits.total();
+        return hydrator.toSliceResponse(new SliceImpl<>(ranked(hits, repository::findAllById), pageable, hasNext), userId);
+    }
+
+    public PageResponse<PodcastSummaryResponse> searchSummaries(String keyword, boolean fuzzy, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            Slice<Podcast> slice = repository.findSummarySliceByTitleOrAuthorMatching(Pattern.quote(keyword), pageable);
+            Page<Podcast> podcastPage = countCache.page(slice, "podcasts:search:" + keyword.toLowerCase(Locale.ROOT),
+                    () -> repository.countByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword));
+            return hydrator.toSummaryPageResponse(podcastPage);
+        }
+
+        InvertedIndex.Hits hits = searchIndex.search(keyword, fuzzy, searchOffset(pageable), pageable.getPageSize());
+        return hydrator.toSummaryPageResponse(new PageImpl<>(ranked(hits, repository::findSummariesByIdIn), pageable, hits.total()));
+    }
+
+    public SliceResponse<PodcastSummaryResponse> searchSummariesSlice(String keyword, boolean fuzzy, Pageable pageable) {
+        countCache.skipped("podcasts");
+        if (!searchIndex.isReady()) {
+            return hydrator.toSummarySliceResponse(
+                    repository.findSummarySliceByTitleOrAuthorMatching(Pattern.quote(keyword), pageable));
+        }
+
+        InvertedIndex.Hits hits = searchIndex.search(keyword, fuzzy, searchOffset(pageable), pageable.getPageSize());
+        boolean hasNext = pageable.getOffset() + pageable.getPageSize() < hits.total();
+        return hydrator.toSummarySliceResponse(new SliceImpl<>(ranked(hits, repository::findSummariesByIdIn), pageable, hasNext));
+    }
+
+    private static int searchOffset(Pageable pageable) {
+        try {
+            return Math.toIntExact(pageable.getOffset());
+        } catch (ArithmeticException e) {
+            throw new BadRequestException("Page is too deep");
+        }
+    }
+
+    private List<Podcast> ranked(InvertedIndex.Hits hits, Function<List<String>, List<Podcast>> loader) {
+        if (hits.keys().isEmpty()) {
+            return List.of();
+        }
+        Map<String, Podcast> podcastsById = loader.apply(hits.keys()).stream()
+                .collect(Collectors.toMap(Podcast::getId, Function.identity()));
+        return hits.keys().stream()
+                .map(podcastsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, Math.min(Math.max(limit, 1), 20)).stream()
+                .map(suggestion -> SuggestionResponse.builder()
+                        .text(suggestion.text())
+                        .type(suggestion.type())
+                        .build())
+                .toList();
     }
 
     public PageResponse<PodcastResponse> getByCategory(String categoryId, String userId, Pageable pageable) {
-        Page<Podcast> podcastPage = repository.findByCategoryId(categoryId, pageable);
-        
-        List<PodcastResponse> content = podcastPage.getContent().stream()
-                .map(podcast -> toResponse(podcast, userId))
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(
-                content,
-                podcastPage.getNumber(),
-                podcastPage.getSize(),
-                podcastPage.getTotalElements(),
-                podcastPage.getTotalPages()
-        );
+        Slice<Podcast> slice = repository.findSliceByCategoryId(categoryId, pageable);
+        Page<Podcast> podcastPage = countCache.page(slice, "podcasts:category:" + categoryId,
+                () -> repository.countByCategoryId(categoryId));
+        return hydrator.toPageResponse(podcastPage, userId);
+    }
+
+    public SliceResponse<PodcastResponse> getByCategorySlice(String categoryId, String userId, Pageable pageable) {
+        countCache.skipped("podcasts");
+        return hydrator.toSliceResponse(repository.findSliceByCategoryId(categoryId, pageable), userId);
+    }
+
+    public PageResponse<PodcastSummaryResponse> getSummariesByCategory(String categoryId, Pageable pageable) {
+        Slice<Podcast> slice = repository.findSummarySliceByCategoryId(categoryId, pageable);
+        Page<Podcast> podcastPage = countCache.page(slice, "podcasts:category:" + categoryId,
+                () -> repository.countByCategoryId(categoryId));
+        return hydrator.toSummaryPageResponse(podcastPage);
+    }
+
+    public SliceResponse<PodcastSummaryResponse> getSummariesByCategorySlice(String categoryId, Pageable pageable) {
+        countCache.skipped("podcasts");
+        return hydrator.toSummarySliceResponse(repository.findSummarySliceByCategoryId(categoryId, pageable));
     }
 
     public PageResponse<PodcastResponse> getByAuthor(String author, String userId, Pageable pageable) {
-        Page<Podcast> podcastPage = repository.findByAuthorContainingIgnoreCase(author, pageable);
-        
-        List<PodcastResponse> content = podcastPage.getContent().stream()
-                .map(podcast -> toResponse(podcast, userId))
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(
-                content,
-                podcastPage.getNumber(),
-                podcastPage.getSize(),
-                podcastPage.getTotalElements(),
-                podcastPage.getTotalPages()
-        );
+        Slice<Podcast> slice = repository.findSliceByAuthorContainingIgnoreCase(author, pageable);
+        Page<Podcast> podcastPage = countCache.page(slice, "podcasts:author:" + author.toLowerCase(Locale.ROOT),
+                () -> repository.countByAuthorContainingIgnoreCase(author));
+        return hydrator.toPageResponse(podcastPage, userId);
+    }
+
+    public SliceResponse<PodcastResponse> getByAuthorSlice(String author, String userId, Pageable pageable) {
+        countCache.skipped("podcasts");
+        return hydrator.toSliceResponse(repository.findSliceByAuthorContainingIgnoreCase(author, pageable), userId);
+    }
+
+    public PageResponse<PodcastSummaryResponse> getSummariesByAuthor(String author, Pageable pageable) {
+        Slice<Podcast> slice = repository.findSummarySliceByAuthorMatching(Pattern.quote(author), pageable);
+        Page<Podcast> podcastPage = countCache.page(slice, "podcasts:author:" + author.toLowerCase(Locale.ROOT),
+                () -> repository.countByAuthorContainingIgnoreCase(author));
+        return hydrator.toSummaryPageResponse(podcastPage);
+    }
+
+    public SliceResponse<PodcastSummaryResponse> getSummariesByAuthorSlice(String author, Pageable pageable) {
+        countCache.skipped("podcasts");
+        return hydrator.toSummarySliceResponse(repository.findSummarySliceByAuthorMatching(Pattern.quote(author), pageable));
     }
 
     public void delete(String id, String userId) {
@@ -130,6 +255,9 @@ public class PodcastService {
         }
         
         repository.deleteById(id);
+        searchIndex.remove(id);
+        suggester.markDirty();
+        countCache.invalidateListing("podcasts");
     }
 
     public PodcastResponse update(String id, String userId, PodcastRequest req) {
@@ -141,60 +269,33 @@ public class PodcastService {
             throw new UnauthorizedException("You are not authorized to update this podcast");
         }
     
-        // Update fields
-        podcast.setTitle(req.getTitle());
-        podcast.setDescription(req.getDescription());
-        podcast.setAuthor(req.getAuthor());
-        podcast.setAudioUrl(req.getAudioUrl());
-        podcast.setImageUrl(req.getImageUrl());
-        podcast.setCategoryId(req.getCategoryId());
-        podcast.setTags(req.getTags());
-        podcast.setDuration(req.getDuration());
+        // Update fields in place, so concurrent like and view counts are not overwritten
+        Podcast details = Podcast.builder()
+                .title(req.getTitle())
+                .description(req.getDescription())
+                .author(req.getAuthor())
+                .audioUrl(req.getAudioUrl())
+                .imageUrl(req.getImageUrl())
+                .categoryId(req.getCategoryId())
+                .tags(req.getTags())
+                .duration(req.getDuration())
+                .build();
+        Podcast updated = repository.updateDetails(id, details)
+                .orElseThrow(() -> new ResourceNotFoundException("Podcast not found"));
     
-        repository.save(podcast);
-        return toResponse(podcast, userId);
+        searchIndex.index(updated);
+        suggester.markDirty();
+        countCache.invalidateListing("podcasts");
+        return hydrator.toResponse(updated, userId);
     }
 
     private boolean isAdmin(String userId) {
-        return userRepository.findByUsername(userId)
-                .map(user -> user.getRoles().contains(Role.ADMIN))
-                .orElse(false);
-    }
-
-    private PodcastResponse toResponse(Podcast podcast, String userId) {
-        String categoryName = null;
-        if (podcast.getCategoryId() != null) {
-            categoryName = categoryRepository.findById(podcast.getCategoryId())
-                    .map(Category::getName)
-                    .orElse(null);
-        }
-        
-        boolean isLiked = false;
-        if (userId != null) {
-            isLiked = favoriteRepository.existsByUserIdAndPodcastId(userId, podcast.getId());
-        }
-        
-        return PodcastResponse.builder()
-                .id(podcast.getId())
-                .title(podcast.getTitle())
-                .description(podcast.getDescription())
-                .author(podcast.getAuthor())
-                .audioUrl(podcast.getAudioUrl())
-                .imageUrl(podcast.getImageUrl())
-                .createdAt(podcast.getCreatedAt().toString())
-                .userId(podcast.getUserId())
-                .categoryId(podcast.getCategoryId())
-                .categoryName(categoryName)
-                .tags(podcast.getTags())
-                .viewCount(podcast.getViewCount())
-                .likeCount(podcast.getLikeCount())
-                .duration(podcast.getDuration())
-                .isLiked(isLiked)
-                .build();
+        return roleCache.isAdmin(userId);
     }
 
     public CommentResponse addComment(String podcastId, String userId, String content) {
-        if (!repository.existsById(podcastId)) {
+        // Counting first doubles as the existence check, and no comment is ever left uncounted.
+        if (!repository.incrementCommentCount(podcastId, 1)) {
             throw new ResourceNotFoundException("Podcast not found");
         }
         
@@ -205,19 +306,47 @@ public class PodcastService {
                 .createdAt(LocalDateTime.now())
                 .build();
         
-        commentRepository.save(comment);
-        return mapCommentToResponse(comment);
+        try {
+            commentRepository.save(comment);
+        } catch (DataAccessException e) {
+            repository.incrementCommentCount(podcastId, -1);
+            throw e;
+        }
+        CommentResponse response = mapCommentToResponse(comment);
+        commentStreams.publishCreated(podcastId, response);
+        return response;
     }
 
-    public List<CommentResponse> getComments(String podcastId) {
+    /** A live stream of the podcast's comments, or empty when this node has no room for another. */
+    public Optional<SseEmitter> streamComments(String podcastId) {
         if (!repository.existsById(podcastId)) {
             throw new ResourceNotFoundException("Podcast not found");
         }
-        
-        return commentRepository.findByPodcastIdOrderByCreatedAtDesc(podcastId)
-                .stream()
-                .map(this::mapCommentToResponse)
-                .toList();
+        return commentStreams.subscribe(podcastId);
+    }
+
+    /**
+     * The newest comments, for clients that do not page; capped so a viral episode stays cheap.
+     * When the cap cut the list, its next cursor resumes right after it.
+     */
+    public CursorPageResponse<CommentResponse> getComments(String podcastId) {
+        return getComments(podcastId, null, UNPAGED_COMMENTS_LIMIT);
+    }
+
+    public CursorPageResponse<CommentResponse> getComments(String podcastId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Comment> comments = commentRepository.findLatestByPodcastId(podcastId, after, CursorPages.fetchSize(size));
+        if (comments.isEmpty() && after == null && !repository.existsById(podcastId)) {
+            throw new ResourceNotFoundException("Podcast not found");
+        }
+        return CursorPages.of(comments, size,
+                comment -> KeysetCursor.after(storedInstant(comment.getCreatedAt()), comment.getId()),
+                page -> page.stream().map(this::mapCommentToResponse).toList());
+    }
+
+    // Spring Data stores a LocalDateTime as the instant it denotes in the system time zone.
+    private static Instant storedInstant(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant();
     }
     
     public void deleteComment(String commentId, String userId) {
@@ -229,7 +358,10 @@ public class PodcastService {
             throw new UnauthorizedException("You are not authorized to delete this comment");
         }
         
-        commentRepository.deleteById(commentId);
+        if (commentRepository.removeById(commentId) > 0) {
+            repository.incrementCommentCount(comment.getPodcastId(), -1);
+            commentStreams.publishDeleted(comment.getPodcastId(), commentId);
+        }
     }
 
     private CommentResponse mapCommentToResponse(Comment comment) {
@@ -0,0 +1,24 @@
+package com.example.podcat.service;
+
+import com.example.podcat.exception.BadRequestException;
+
+import java.util.Locale;
+
+/** Shape of the podcasts in a list response, selected with {@code ?fields=}. */
+public enum PodcastView {
+    /** Every field of {@link com.example.podcat.dto.PodcastResponse}; the default. */
+    FULL,
+    /** Only {@link com.example.podcat.dto.PodcastSummaryResponse}, projected in Mongo. */
+    SUMMARY;
+
+    public static PodcastView parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(fields.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown fields '" + fields + "', expected 'full' or 'summary'");
+        }
+    }
+}
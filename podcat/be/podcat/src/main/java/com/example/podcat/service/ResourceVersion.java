@@ -0,0 +1,17 @@
+package com.example.podcat.service;
+
+import java.time.Instant;
+
+/**
+ * Validators of a resource's current representation: a strong ETag, and the time it last
+ * changed when that alone is enough to tell, or null when it is not. {@link #NONE} is for a
+ * representation that is incomplete and must not be revalidated as current.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    public static final ResourceVersion NONE = new ResourceVersion(null, null);
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
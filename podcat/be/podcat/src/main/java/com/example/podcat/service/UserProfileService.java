@@ -18,7 +18,7 @@ public class UserProfileService {
     private final UserProfileRepository userProfileRepository;
     //private final UserRepository userRepository;
     private final PlaylistRepository playlistRepository;
-   // private final PodcastRepository podcastRepository;
+    private final PodcastRepository podcastRepository;
 
     public UserProfileResponse getProfile(String userId) {
         UserProfile profile = userProfileRepository.findByUserId(userId)
@@ -50,6 +50,8 @@ public class UserProfileService {
         profile.setAvatarUrl(request.getAvatarUrl());
         
         userProfileRepository.save(profile);
+        // Podcast details show the author's profile and are validated by the podcast's version.
+        podcastRepository.touchByUserId(userId);
         
         return getProfile(userId);
     }
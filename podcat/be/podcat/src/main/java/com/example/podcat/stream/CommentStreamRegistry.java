@@ -0,0 +1,288 @@
+package com.example.podcat.stream;
+
+import com.example.podcat.dto.CommentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Live comment streams, one topic per podcast. A subscriber is an async {@link SseEmitter}, so
+ * an open stream holds no request thread; events are written by a small pool of
+ * {@code podcat.comments.stream.senders} threads shared by every subscriber.
+ *
+ * <p>Each subscriber has its own buffer of {@code podcat.comments.stream.buffer} events. A
+ * subscriber that reads slower than comments arrive loses the oldest ones rather than holding
+ * memory or slowing down the others; it can catch up from the paged comments endpoint. A
+ * subscriber is queued on the pool at most once at a time, and gives the thread up after a
+ * buffer's worth of events, so the pool's queue is bounded by the number of subscribers. With
+ * {@code spring.threads.virtual.enabled} each queued subscriber gets a virtual thread instead,
+ * so a subscriber whose write blocks does not hold up the others.
+ *
+ * <p>Idle streams get a comment line every {@code podcat.comments.stream.heartbeat-ms}, which
+ * keeps proxies from closing them and finds connections that went away without a FIN: the
+ * write fails and the subscriber is removed. Streams are closed after
+ * {@code podcat.comments.stream.timeout-ms}; {@code EventSource} reconnects on its own.
+ */
+@Component
+public class CommentStreamRegistry {
+
+    private static final Event HEARTBEAT = new Event(null, null, "heartbeat");
+
+    private final ObjectMapper objectMapper;
+    private final Executor senders;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxSubscribers;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    @Autowired
+    public CommentStreamRegistry(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${podcat.comments.stream.senders:4}") int senders,
+                                 @Value("${podcat.comments.stream.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${podcat.comments.stream.buffer:32}") int bufferSize,
+                                 @Value("${podcat.comments.stream.max-subscribers:20000}") int maxSubscribers,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(objectMapper, meterRegistry, virtualThreads
+                        ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("comment-stream-", 1).factory())
+                        : Executors.newFixedThreadPool(senders, new SenderThreadFactory()),
+                timeoutMs, bufferSize, maxSubscribers);
+    }
+
+    CommentStreamRegistry(ObjectMapper objectMapper, MeterRegistry meterRegistry, Executor senders,
+                          long timeoutMs, int bufferSize, int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.senders = senders;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.sent = Counter.builder("podcat.comments.stream.sent")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("podcat.comments.stream.dropped")
+                .description("Events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("podcat.comments.stream.disconnected")
+                .description("Subscribers removed because a write to them failed")
+                .register(meterRegistry);
+        Gauge.builder("podcat.comments.stream.subscribers", subscribers, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /** Opens a stream of the podcast's new and deleted comments, or empty when this node is full. */
+    public Optional<SseEmitter> subscribe(String podcastId) {
+        return register(podcastId, new SseEmitter(timeoutMs));
+    }
+
+    Optional<SseEmitter> register(String podcastId, SseEmitter emitter) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(podcastId, emitter);
+        topics.compute(podcastId, (id, topic) -> {
+            if (topic == null) {
+                topic = ConcurrentHashMap.newKeySet();
+            }
+            topic.add(subscriber);
+            return topic;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return Optional.of(emitter);
+    }
+
+    public void publishCreated(String podcastId, CommentResponse comment) {
+        publish(podcastId, () -> new Event(comment.getId(), "comment", toJson(comment)));
+    }
+
+    public void publishDeleted(String podcastId, String commentId) {
+        publish(podcastId, () -> new Event(commentId, "comment-deleted", toJson(Map.of("id", commentId))));
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @Scheduled(fixedDelayString = "${podcat.comments.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        topics.values().forEach(topic -> topic.forEach(Subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    public void close() {
+        topics.values().forEach(topic -> topic.forEach(subscriber -> subscriber.emitter.complete()));
+        if (senders instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    // Serialized once per event, however many subscribers it goes to.
+    private void publish(String podcastId, Supplier<Event> event) {
+        Set<Subscriber> topic = topics.get(podcastId);
+        if (topic == null || topic.isEmpty()) {
+            return;
+        }
+        Event built = event.get();
+        topic.forEach(subscriber -> subscriber.enqueue(built));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize comment event", e);
+        }
+    }
+
+    private record Event(String id, String name, String data) {
+        SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment(data);
+            }
+            return SseEmitter.event().id(id).name(name).data(data);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        private final String podcastId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by lock.
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>();
+        private boolean queued;
+        private boolean closed;
+
+        Subscriber(String podcastId, SseEmitter emitter) {
+            this.podcastId = podcastId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Event event) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(event);
+                if (queued) {
+                    return;
+                }
+                queued = true;
+            } finally {
+                lock.unlock();
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            lock.lock();
+            try {
+                if (queued || closed) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            enqueue(HEARTBEAT);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < bufferSize; i++) {
+                Event event;
+                lock.lock();
+                try {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        queued = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(event.toSse());
+                    sent.increment();
+                } catch (IOException | IllegalStateException e) {
+                    // The container reports the broken connection to the emitter itself.
+                    disconnected.increment();
+                    close();
+                    return;
+                }
+            }
+            // Still more to send: go to the back of the queue instead of holding the thread.
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                senders.execute(this);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            } finally {
+                lock.unlock();
+            }
+            topics.computeIfPresent(podcastId, (id, topic) -> {
+                topic.remove(this);
+                return topic.isEmpty() ? null : topic;
+            });
+            subscribers.decrementAndGet();
+        }
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "comment-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
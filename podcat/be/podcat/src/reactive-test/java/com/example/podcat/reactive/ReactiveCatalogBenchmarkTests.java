@@ -0,0 +1,224 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.CommentRepository;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.UserRepository;
+import com.example.podcat.search.PodcastSearchIndex;
+import com.example.podcat.search.PodcastSuggester;
+import com.example.podcat.security.RoleCache;
+import com.example.podcat.service.PodcastDetailAssembler;
+import com.example.podcat.service.PodcastHydrator;
+import com.example.podcat.service.PodcastService;
+import com.example.podcat.stream.CommentStreamRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * A page of 20 podcasts in a category for a signed-in user, served by the blocking
+ * {@link PodcastService} on a pool of 200 request threads (Tomcat's default maximum) and by
+ * {@link ReactiveCatalogService}, for 1k to 10k closed-loop clients. Every Mongo round trip takes
+ * 5 ms: a sleep on the blocking side, a timer on the reactive one. Reports throughput, p99, the
+ * peak number of platform threads and the heap in use under load.
+ * Run with {@code mvn test -Preactive,benchmark}.
+ */
+@Tag("benchmark")
+class ReactiveCatalogBenchmarkTests {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration ROUND_TRIP = Duration.ofMillis(5);
+    private static final int PAGE_SIZE = 20;
+    private static final int[] CLIENTS = {1_000, 5_000, 10_000};
+    private static final long WARMUP_MILLIS = 1_000;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    private final List<Podcast> page = IntStream.range(0, PAGE_SIZE)
+            .mapToObj(i -> Podcast.builder()
+                    .id("p" + i)
+                    .title("Podcast " + i)
+                    .categoryId("c" + (i % 5))
+                    .createdAt(Instant.now())
+                    .build())
+            .toList();
+
+    @Test
+    void blockingAgainstReactive() throws Exception {
+        PodcastService blocking = blockingService();
+        ReactiveCatalogService reactive = reactiveService();
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE);
+        Result blockingAtMostClients = null;
+        Result reactiveAtMostClients = null;
+        for (int clients : CLIENTS) {
+            ExecutorService requestThreads = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            try {
+                blockingAtMostClients = run("blocking", clients,
+                        () -> requestThreads.submit(() -> blocking.getByCategorySlice("c0", "alice", pageable)).get());
+            } finally {
+                requestThreads.shutdownNow();
+                requestThreads.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            reactiveAtMostClients = run("reactive", clients,
+                    () -> reactive.getByCategory("c0", "alice", pageable).collectList().toFuture().get());
+        }
+        assertTrue(reactiveAtMostClients.throughput() > blockingAtMostClients.throughput());
+    }
+
+    private PodcastService blockingService() {
+        PodcastRepository podcastRepository = stub(PodcastRepository.class);
+        CategoryRepository categoryRepository = stub(CategoryRepository.class);
+        FavoriteRepository favoriteRepository = stub(FavoriteRepository.class);
+        when(podcastRepository.findSliceByCategoryId(anyString(), any(Pageable.class))).thenAnswer(invocation -> {
+            Thread.sleep(ROUND_TRIP.toMillis());
+            return new SliceImpl<>(page, invocation.getArgument(1), true);
+        });
+        when(categoryRepository.findAll()).thenReturn(IntStream.range(0, 5)
+                .mapToObj(i -> Category.builder().id("c" + i).name("Category " + i).build())
+                .toList());
+        when(favoriteRepository.findPodcastIdsByUserId("alice"))
+                .thenReturn(List.of(Favorite.builder().userId("alice").podcastId("p0").build()));
+
+        CategoryCache categoryCache = new CategoryCache(categoryRepository, new SimpleMeterRegistry());
+        categoryCache.findAll();
+        return new PodcastService(
+                podcastRepository,
+                stub(CommentRepository.class),
+                new RoleCache(stub(UserRepository.class), new SimpleMeterRegistry(), 60_000, 100),
+                new PodcastHydrator(categoryCache, new LikedPodcastIndex(favoriteRepository, new SimpleMeterRegistry(), 1 << 20, 60_000)),
+                stub(PodcastDetailAssembler.class),
+                new PodcastSearchIndex(podcastRepository),
+                new PodcastSuggester(podcastRepository, categoryCache, new SimpleMeterRegistry(), 900_000),
+                new CountCache(new SimpleMeterRegistry(), 60_000, 100),
+                stub(CommentStreamRegistry.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReactiveCatalogService reactiveService() {
+        ReactivePodcastRepository podcastRepository = stub(ReactivePodcastRepository.class);
+        ReactiveCategoryRepository categoryRepository = stub(ReactiveCategoryRepository.class);
+        ReactiveFavoriteRepository favoriteRepository = stub(ReactiveFavoriteRepository.class);
+        when(podcastRepository.findByCategoryId(anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(page).delaySubscription(ROUND_TRIP));
+        when(categoryRepository.findAllById(anyIterable())).thenAnswer(invocation ->
+                Flux.fromIterable((Iterable<String>) invocation.getArgument(0))
+                        .map(id -> Category.builder().id(id).name("Category " + id).build())
+                        .delaySubscription(ROUND_TRIP));
+        when(favoriteRepository.findPodcastIdsByUserIdAndPodcastIdIn(eq("alice"), anyCollection())).thenAnswer(invocation ->
+                Flux.fromIterable((Collection<String>) invocation.getArgument(1))
+                        .filter("p0"::equals)
+                        .map(id -> Favorite.builder().userId("alice").podcastId(id).build())
+                        .delaySubscription(ROUND_TRIP));
+        return new ReactiveCatalogService(podcastRepository, categoryRepository, favoriteRepository,
+                stub(PodcastSearchIndex.class), PAGE_SIZE, 4);
+    }
+
+    // Stubs record no invocations, which would otherwise pile up over millions of calls.
+    private static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    private static Result run(String variant, int clients, Callable<?> request) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Latencies latencies = new Latencies();
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        long heapInUse;
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                clientThreads.execute(() -> {
+                    while (!stop.get()) {
+                        long started = System.nanoTime();
+                        try {
+                            request.call();
+                        } catch (Exception e) {
+                            return;
+                        }
+                        if (measuring.get()) {
+                            latencies.record(System.nanoTime() - started);
+                        }
+                    }
+                });
+            }
+            Thread.sleep(WARMUP_MILLIS);
+            threads.resetPeakThreadCount();
+            measuring.set(true);
+            Thread.sleep(MEASURE_MILLIS / 2);
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            heapInUse = runtime.totalMemory() - runtime.freeMemory();
+            Thread.sleep(MEASURE_MILLIS - MEASURE_MILLIS / 2);
+            measuring.set(false);
+            stop.set(true);
+        }
+        Result result = new Result(latencies.count() * 1000.0 / MEASURE_MILLIS, latencies.percentileMillis(99));
+        System.out.printf("catalog %-8s clients=%-6d requests/s=%-8.0f p99=%.1fms platform threads=%-4d heap=%dMB%n",
+                variant, clients, result.throughput(), result.p99Millis(), threads.getPeakThreadCount(), heapInUse >> 20);
+        return result;
+    }
+
+    private record Result(double throughput, double p99Millis) {
+    }
+
+    // Latencies in 100µs buckets up to 60s.
+    private static final class Latencies {
+        private static final long BUCKET_NANOS = 100_000;
+        private final AtomicLongArray buckets = new AtomicLongArray(600_000);
+        private final LongAdder count = new LongAdder();
+
+        void record(long nanos) {
+            buckets.incrementAndGet((int) Math.min(nanos / BUCKET_NANOS, buckets.length() - 1));
+            count.increment();
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double percentileMillis(int p) {
+            long rank = (long) Math.ceil(count() * p / 100.0);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return (i + 1) * BUCKET_NANOS / 1e6;
+                }
+            }
+            return buckets.length() * BUCKET_NANOS / 1e6;
+        }
+    }
+}
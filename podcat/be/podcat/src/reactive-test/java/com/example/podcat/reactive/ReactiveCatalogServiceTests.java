@@ -0,0 +1,109 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.QueryCounter;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.search.InvertedIndex;
+import com.example.podcat.search.PodcastSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveCatalogServiceTests {
+
+    private final QueryCounter queries = new QueryCounter();
+
+    private ReactivePodcastRepository podcastRepository;
+    private PodcastSearchIndex searchIndex;
+    private ReactiveCatalogService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        podcastRepository = queries.mock(ReactivePodcastRepository.class);
+        ReactiveCategoryRepository categoryRepository = queries.mock(ReactiveCategoryRepository.class);
+        ReactiveFavoriteRepository favoriteRepository = queries.mock(ReactiveFavoriteRepository.class);
+        searchIndex = mock(PodcastSearchIndex.class);
+
+        when(categoryRepository.findAllById(anyIterable())).thenAnswer(invocation ->
+                Flux.fromIterable((Iterable<String>) invocation.getArgument(0))
+                        .map(id -> Category.builder().id(id).name("Category " + id).build()));
+        Set<String> liked = Set.of("p0", "p21");
+        when(favoriteRepository.findPodcastIdsByUserIdAndPodcastIdIn(eq("alice"), anyCollection())).thenAnswer(invocation ->
+                Flux.fromIterable((Collection<String>) invocation.getArgument(1))
+                        .filter(liked::contains)
+                        .map(id -> Favorite.builder().userId("alice").podcastId(id).build()));
+
+        service = new ReactiveCatalogService(podcastRepository, categoryRepository, favoriteRepository, searchIndex, 20, 4);
+    }
+
+    @Test
+    void pageCostsOneLookupOfEachKindPerBatch() {
+        when(podcastRepository.findByCategoryId(anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(podcasts(45)));
+
+        queries.reset();
+        List<PodcastResponse> page = service.getByCategory("c0", "alice", PageRequest.of(0, 45)).collectList().block();
+        // the page, then a category lookup and a favorites lookup for each of its three batches
+        assertEquals(7, queries.count());
+        assertEquals(IntStream.range(0, 45).mapToObj(i -> "p" + i).toList(),
+                page.stream().map(PodcastResponse::getId).toList());
+        assertEquals(List.of("p0", "p21"), page.stream().filter(PodcastResponse::isLiked).map(PodcastResponse::getId).toList());
+        assertEquals("Category c2", page.get(5).getCategoryName());
+
+        queries.reset();
+        List<PodcastResponse> anonymous = service.getByCategory("c0", null, PageRequest.of(0, 45)).collectList().block();
+        assertEquals(4, queries.count());
+        assertTrue(anonymous.stream().noneMatch(PodcastResponse::isLiked));
+    }
+
+    @Test
+    void searchKeepsRankOrder() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("rome", false, 0, 20)).thenReturn(new InvertedIndex.Hits(3, List.of("p2", "p0", "p1")));
+        when(podcastRepository.findAllById(anyIterable())).thenAnswer(invocation -> Flux.fromIterable(podcasts(3)));
+
+        List<PodcastResponse> results = service.search("rome", false, null, PageRequest.of(0, 20)).collectList().block();
+
+        assertEquals(List.of("p2", "p0", "p1"), results.stream().map(PodcastResponse::getId).toList());
+    }
+
+    @Test
+    void missingPodcastIsNotFound() {
+        when(podcastRepository.findById("missing")).thenReturn(Mono.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getById("missing", null).block());
+    }
+
+    private static List<Podcast> podcasts(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Podcast.builder()
+                        .id("p" + i)
+                        .title("Podcast " + i)
+                        .categoryId("c" + (i % 3))
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+    }
+}
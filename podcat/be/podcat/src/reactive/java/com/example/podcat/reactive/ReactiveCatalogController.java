@@ -0,0 +1,72 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.controller.PageRequests;
+import com.example.podcat.dto.CategoryResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.security.CurrentUser;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The catalog reads of {@code PodcastController} and {@code CategoryController} on reactive
+ * Mongo. No request thread waits on Mongo: the response is written when the results arrive.
+ * Lists are JSON arrays, or streamed one podcast per line with {@code Accept: application/x-ndjson};
+ * either way they carry no page totals.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+@Tag(name = "Reactive catalog", description = "Non-blocking catalog reads")
+public class ReactiveCatalogController {
+
+    private final ReactiveCatalogService service;
+
+    @GetMapping(value = "/podcasts", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Get all podcasts")
+    public Flux<PodcastResponse> getAll(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser(required = false) String userId) {
+        return service.getAll(userId, PageRequests.of(page, size));
+    }
+
+    @GetMapping("/podcasts/{id}")
+    @Operation(summary = "Get podcast by ID")
+    public Mono<PodcastResponse> getById(
+            @PathVariable String id,
+            @CurrentUser(required = false) String userId) {
+        return service.getById(id, userId);
+    }
+
+    @GetMapping(value = "/podcasts/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Search podcasts")
+    public Flux<PodcastResponse> search(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser(required = false) String userId) {
+        return service.search(keyword, fuzzy, userId, PageRequests.of(page, size));
+    }
+
+    @GetMapping(value = "/podcasts/category/{categoryId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Get podcasts by category")
+    public Flux<PodcastResponse> getByCategory(
+            @PathVariable String categoryId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser(required = false) String userId) {
+        return service.getByCategory(categoryId, userId, PageRequests.of(page, size));
+    }
+
+    @GetMapping(value = "/categories", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Get all categories")
+    public Flux<CategoryResponse> getAllCategories() {
+        return service.getAllCategories();
+    }
+}
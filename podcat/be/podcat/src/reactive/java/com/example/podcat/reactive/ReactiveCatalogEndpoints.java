@@ -0,0 +1,16 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.config.PublicEndpoints;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** Opens the reactive catalog reads to anonymous listeners, like their servlet counterparts. */
+@Component
+public class ReactiveCatalogEndpoints implements PublicEndpoints {
+
+    @Override
+    public List<String> patterns() {
+        return List.of("/api/reactive/**");
+    }
+}
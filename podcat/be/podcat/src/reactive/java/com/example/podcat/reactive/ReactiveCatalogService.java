@@ -0,0 +1,125 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.dto.CategoryResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.search.InvertedIndex;
+import com.example.podcat.search.PodcastSearchIndex;
+import com.example.podcat.service.PodcastHydrator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of the catalog reads in {@code PodcastService} and
+ * {@code CategoryService}. Podcasts are passed on as Mongo returns them, in batches of
+ * {@code podcat.reactive.batch-size}: each batch's category names and the caller's liked flags
+ * are looked up together, one query each, and at most {@code podcat.reactive.lookup-concurrency}
+ * batches are hydrated at once. Results keep the order of the query.
+ */
+@Service
+public class ReactiveCatalogService {
+
+    private final ReactivePodcastRepository podcastRepository;
+    private final ReactiveCategoryRepository categoryRepository;
+    private final ReactiveFavoriteRepository favoriteRepository;
+    private final PodcastSearchIndex searchIndex;
+    private final int batchSize;
+    private final int lookupConcurrency;
+
+    public ReactiveCatalogService(ReactivePodcastRepository podcastRepository,
+                                  ReactiveCategoryRepository categoryRepository,
+                                  ReactiveFavoriteRepository favoriteRepository,
+                                  PodcastSearchIndex searchIndex,
+                                  @Value("${podcat.reactive.batch-size:20}") int batchSize,
+                                  @Value("${podcat.reactive.lookup-concurrency:4}") int lookupConcurrency) {
+        this.podcastRepository = podcastRepository;
+        this.categoryRepository = categoryRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.searchIndex = searchIndex;
+        this.batchSize = batchSize;
+        this.lookupConcurrency = lookupConcurrency;
+    }
+
+    public Flux<PodcastResponse> getAll(String userId, Pageable pageable) {
+        return hydrate(podcastRepository.findAllBy(pageable), userId);
+    }
+
+    public Mono<PodcastResponse> getById(String id, String userId) {
+        return hydrate(podcastRepository.findById(id).flux(), userId)
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Podcast not found")));
+    }
+
+    public Flux<PodcastResponse> getByCategory(String categoryId, String userId, Pageable pageable) {
+        return hydrate(podcastRepository.findByCategoryId(categoryId, pageable), userId);
+    }
+
+    public Flux<PodcastResponse> search(String keyword, boolean fuzzy, String userId, Pageable pageable) {
+        if (!searchIndex.isReady()) {
+            return hydrate(podcastRepository.findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable), userId);
+        }
+
+        InvertedIndex.Hits hits = searchIndex.search(keyword, fuzzy, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.keys().isEmpty()) {
+            return Flux.empty();
+        }
+        // Mongo answers in its own order; the page has to come out in rank order.
+        Flux<Podcast> ranked = podcastRepository.findAllById(hits.keys())
+                .collectMap(Podcast::getId)
+                .flatMapIterable(podcastsById -> hits.keys().stream()
+                        .map(podcastsById::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+        return hydrate(ranked, userId);
+    }
+
+    public Flux<CategoryResponse> getAllCategories() {
+        return categoryRepository.findAll()
+                .map(category -> CategoryResponse.builder()
+                        .id(category.getId())
+                        .name(category.getName())
+                        .description(category.getDescription())
+                        .imageUrl(category.getImageUrl())
+                        .build());
+    }
+
+    private Flux<PodcastResponse> hydrate(Flux<Podcast> podcasts, String userId) {
+        return podcasts.buffer(batchSize)
+                .flatMapSequential(batch -> hydrateBatch(batch, userId), lookupConcurrency);
+    }
+
+    private Flux<PodcastResponse> hydrateBatch(List<Podcast> batch, String userId) {
+        Set<String> categoryIds = batch.stream()
+                .map(Podcast::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Mono<Map<String, String>> categoryNames = categoryIds.isEmpty()
+                ? Mono.just(Map.of())
+                : categoryRepository.findAllById(categoryIds)
+                        .filter(category -> category.getName() != null)
+                        .collectMap(Category::getId, Category::getName);
+        Mono<Set<String>> likedIds = userId == null
+                ? Mono.just(Set.of())
+                : favoriteRepository.findPodcastIdsByUserIdAndPodcastIdIn(userId, batch.stream().map(Podcast::getId).toList())
+                        .map(Favorite::getPodcastId)
+                        .collect(Collectors.toSet());
+        return Mono.zip(categoryNames, likedIds)
+                .flatMapIterable(lookups -> batch.stream()
+                        .map(podcast -> PodcastHydrator.map(podcast,
+                                podcast.getCategoryId() != null ? lookups.getT1().get(podcast.getCategoryId()) : null,
+                                lookups.getT2().contains(podcast.getId())))
+                        .toList());
+    }
+}
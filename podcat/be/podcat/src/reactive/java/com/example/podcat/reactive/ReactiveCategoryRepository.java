@@ -0,0 +1,7 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.model.Category;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveCategoryRepository extends ReactiveMongoRepository<Category, String> {
+}
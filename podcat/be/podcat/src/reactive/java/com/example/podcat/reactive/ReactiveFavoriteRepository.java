@@ -0,0 +1,14 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.model.Favorite;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+public interface ReactiveFavoriteRepository extends ReactiveMongoRepository<Favorite, String> {
+
+    @Query(value = "{ 'userId': ?0, 'podcastId': { '$in': ?1 } }", fields = "{ 'podcastId': 1 }")
+    Flux<Favorite> findPodcastIdsByUserIdAndPodcastIdIn(String userId, Collection<String> podcastIds);
+}
@@ -0,0 +1,12 @@
+package com.example.podcat.reactive;
+
+import com.example.podcat.model.Podcast;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactivePodcastRepository extends ReactiveMongoRepository<Podcast, String> {
+    Flux<Podcast> findAllBy(Pageable pageable);
+    Flux<Podcast> findByCategoryId(String categoryId, Pageable pageable);
+    Flux<Podcast> findByTitleContainingIgnoreCaseOrAuthorContainingIgnoreCase(String title, String author, Pageable pageable);
+}
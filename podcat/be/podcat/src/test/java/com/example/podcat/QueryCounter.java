@@ -0,0 +1,33 @@
+package com.example.podcat;
+
+import org.mockito.Mockito;
+import org.mockito.listeners.InvocationListener;
+import org.mockito.listeners.MethodInvocationReport;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts every call made against the repository mocks it creates, so a test can assert how
+ * many Mongo round trips a single service call would cost.
+ */
+public class QueryCounter implements InvocationListener {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    public <T> T mock(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().invocationListeners(this));
+    }
+
+    @Override
+    public void reportInvocation(MethodInvocationReport report) {
+        count.incrementAndGet();
+    }
+
+    public int count() {
+        return count.get();
+    }
+
+    public void reset() {
+        count.set(0);
+    }
+}
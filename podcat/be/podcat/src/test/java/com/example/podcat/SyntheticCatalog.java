@@ -0,0 +1,96 @@
+package com.example.podcat;
+
+import com.example.podcat.model.Podcast;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of podcast documents with Vietnamese and English vocabulary and a
+ * skewed word distribution, for benchmarks that need a realistic catalog without Mongo.
+ */
+public class SyntheticCatalog {
+
+    private static final String[] SYLLABLES = {
+            "lịch", "sử", "âm", "nhạc", "kinh", "tế", "khoa", "học", "đời", "sống", "sức", "khỏe",
+            "tâm", "lý", "công", "nghệ", "giáo", "dục", "thể", "thao", "văn", "hóa", "du", "lịch",
+            "history", "music", "business", "science", "health", "story", "daily", "news", "talk",
+            "mindset", "startup", "coding", "podcast", "weekly", "morning", "night", "love", "life",
+            "rome", "empire", "war", "peace", "money", "market", "crypto", "design", "travel", "food"
+    };
+    private static final String[] FAMILY_NAMES = {
+            "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng", "Bùi", "Đỗ",
+            "Smith", "Johnson", "Duncan", "Carlin", "Rogan", "Harris", "Fridman", "Ferriss"
+    };
+    private static final String[] GIVEN_NAMES = {
+            "An", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hùng", "Khoa", "Linh", "Minh", "Ngọc", "Phúc",
+            "Quang", "Thảo", "Trang", "Tuấn", "Mike", "Dan", "Joe", "Sam", "Lex", "Tim", "Anna", "Mary"
+    };
+
+    private final Random random;
+    private final String[] vocabulary;
+
+    public SyntheticCatalog(long seed, int vocabularySize) {
+        this.random = new Random(seed);
+        this.vocabulary = new String[vocabularySize];
+        for (int i = 0; i < vocabularySize; i++) {
+            vocabulary[i] = i < SYLLABLES.length
+                    ? SYLLABLES[i]
+                    : SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)] + i;
+        }
+    }
+
+    public List<Podcast> podcasts(int count) {
+        List<Podcast> podcasts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            podcasts.add(podcast(i));
+        }
+        return podcasts;
+    }
+
+    public Podcast podcast(int i) {
+        return Podcast.builder()
+                .id(String.format("%024x", i))
+                .title(words(3 + random.nextInt(6)))
+                .author(author())
+                .description(words(20 + random.nextInt(20)))
+                .tags(List.of(word(), word(), word()))
+                .createdAt(Instant.ofEpochSecond(1_700_000_000L + i))
+                .userId("user" + random.nextInt(1000))
+                .categoryId("category" + random.nextInt(20))
+                .viewCount(random.nextInt(100_000))
+                .likeCount(random.nextInt(5_000))
+                .duration(300 + random.nextInt(7200))
+                .imageUrl("https://cdn.example.com/images/" + i + ".jpg")
+                .audioUrl("https://cdn.example.com/audio/" + i + ".mp3")
+                .commentsCounted(true)
+                .build();
+    }
+
+    public String word() {
+        // Squaring a uniform sample skews towards low ranks, roughly like natural word frequencies.
+        double u = random.nextDouble();
+        return vocabulary[(int) (u * u * vocabulary.length)];
+    }
+
+    public String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word());
+        }
+        return text.toString();
+    }
+
+    public String author() {
+        return FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)] + " " + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+    }
+
+    public Random random() {
+        return random;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.podcat;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput and p99 of a request that spends its time blocked on one Mongo round trip, served
+ * the way Tomcat serves it with {@code spring.threads.virtual.enabled} off (a pool of 200
+ * platform threads, Tomcat's default maximum) and on (a virtual thread per request), for 1k to
+ * 10k closed-loop clients. The third mode blocks inside {@code synchronized}, which pins a
+ * virtual thread to its carrier: that is the hazard the virtual mode must not meet in our code.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ThreadModeBenchmarkTests {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long ROUND_TRIP_MILLIS = 5;
+    private static final int[] CLIENTS = {1_000, 5_000, 10_000};
+    private static final long WARMUP_MILLIS = 500;
+    private static final long MEASURE_MILLIS = 2_000;
+
+    enum Mode { PLATFORM, VIRTUAL, VIRTUAL_PINNED }
+
+    @Test
+    void platformAgainstVirtualThreads() throws Exception {
+        Map<Mode, Result> atMostClients = new EnumMap<>(Mode.class);
+        for (int clients : CLIENTS) {
+            for (Mode mode : Mode.values()) {
+                Result result = run(mode, clients);
+                atMostClients.put(mode, result);
+                System.out.printf("threads %-14s clients=%-6d requests/s=%-8.0f p50=%.1fms p99=%.1fms%n",
+                        mode, clients, result.throughput(), result.p50Millis(), result.p99Millis());
+            }
+        }
+        assertTrue(atMostClients.get(Mode.VIRTUAL).throughput() > atMostClients.get(Mode.PLATFORM).throughput());
+    }
+
+    private static Result run(Mode mode, int clients) throws Exception {
+        ExecutorService server = mode == Mode.PLATFORM
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        Runnable request = mode == Mode.VIRTUAL_PINNED ? ThreadModeBenchmarkTests::pinnedRoundTrip : ThreadModeBenchmarkTests::roundTrip;
+        Latencies latencies = new Latencies();
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                clientThreads.execute(() -> {
+                    while (!stop.get()) {
+                        long started = System.nanoTime();
+                        try {
+                            server.submit(request).get();
+                        } catch (Exception e) {
+                            return;
+                        }
+                        if (measuring.get()) {
+                            latencies.record(System.nanoTime() - started);
+                        }
+                    }
+                });
+            }
+            Thread.sleep(WARMUP_MILLIS);
+            measuring.set(true);
+            Thread.sleep(MEASURE_MILLIS);
+            measuring.set(false);
+            stop.set(true);
+        } finally {
+            server.shutdownNow();
+            server.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return new Result(latencies.count() * 1000.0 / MEASURE_MILLIS,
+                latencies.percentileMillis(50), latencies.percentileMillis(99));
+    }
+
+    private static void roundTrip() {
+        try {
+            Thread.sleep(ROUND_TRIP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Locks the current thread rather than a new object, which the JIT would prove unshared and
+    // elide the lock, and with it the pinning.
+    private static void pinnedRoundTrip() {
+        synchronized (Thread.currentThread()) {
+            roundTrip();
+        }
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+    }
+
+    // Latencies in 100µs buckets up to 60s.
+    private static final class Latencies {
+        private static final long BUCKET_NANOS = 100_000;
+        private final AtomicLongArray buckets = new AtomicLongArray(600_000);
+        private final LongAdder count = new LongAdder();
+
+        void record(long nanos) {
+            buckets.incrementAndGet((int) Math.min(nanos / BUCKET_NANOS, buckets.length() - 1));
+            count.increment();
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double percentileMillis(int p) {
+            long rank = (long) Math.ceil(count() * p / 100.0);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return (i + 1) * BUCKET_NANOS / 1e6;
+                }
+            }
+            return buckets.length() * BUCKET_NANOS / 1e6;
+        }
+    }
+}
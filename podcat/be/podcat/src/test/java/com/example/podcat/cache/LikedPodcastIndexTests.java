@@ -0,0 +1,78 @@
+package com.example.podcat.cache;
+
+import com.example.podcat.model.Favorite;
+import com.example.podcat.repository.FavoriteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikedPodcastIndexTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private FavoriteRepository favoriteRepository;
+
+    @BeforeEach
+    void setUp() {
+        favoriteRepository = mock(FavoriteRepository.class);
+        when(favoriteRepository.findPodcastIdsByUserId("alice")).thenReturn(List.of(favorite("p1")));
+    }
+
+    @Test
+    void setIsServedFromMemoryUntilItExpires() {
+        LikedPodcastIndex index = index(60_000);
+
+        assertTrue(index.isLiked("alice", "p1"));
+        assertTrue(index.isLiked("alice", "p1"));
+
+        verify(favoriteRepository, times(1)).findPodcastIdsByUserId("alice");
+    }
+
+    @Test
+    void likeMadeOnAnotherNodeShowsOnceTheSetExpires() {
+        LikedPodcastIndex index = index(60_000);
+        assertFalse(index.isLiked("alice", "p2"));
+
+        // Another node stored the like; this one never saw the toggle.
+        when(favoriteRepository.findPodcastIdsByUserId("alice")).thenReturn(List.of(favorite("p1"), favorite("p2")));
+        now.addAndGet(59_999);
+        assertFalse(index.isLiked("alice", "p2"));
+        now.addAndGet(1);
+
+        assertTrue(index.isLiked("alice", "p2"));
+        verify(favoriteRepository, times(2)).findPodcastIdsByUserId("alice");
+        assertEquals(1, meterRegistry.counter("podcat.cache.expirations", "cache", "liked").count());
+    }
+
+    @Test
+    void localToggleDoesNotExtendTheSet() {
+        LikedPodcastIndex index = index(60_000);
+        index.likedBy("alice");
+
+        now.addAndGet(30_000);
+        index.onToggle("alice", "p3", true);
+        now.addAndGet(30_000);
+        index.likedBy("alice");
+
+        verify(favoriteRepository, times(2)).findPodcastIdsByUserId("alice");
+    }
+
+    private LikedPodcastIndex index(long ttlMillis) {
+        return new LikedPodcastIndex(favoriteRepository, meterRegistry, 1 << 20, ttlMillis, now::get);
+    }
+
+    private static Favorite favorite(String podcastId) {
+        return Favorite.builder().userId("alice").podcastId(podcastId).build();
+    }
+}
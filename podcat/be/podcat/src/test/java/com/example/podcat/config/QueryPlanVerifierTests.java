@@ -0,0 +1,100 @@
+package com.example.podcat.config;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryPlanVerifierTests {
+
+    @Test
+    void everyHotQueryHasADeclaredIndex() {
+        // Simple types as the app's converter registers them; without them the context maps Instant
+        // as an entity and reflects into java.base.
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<String> uncovered = new ArrayList<>();
+        for (QueryPlanVerifier.QueryShape query : QueryPlanVerifier.HOT_QUERIES) {
+            assertTrue(IndexProvisioner.indexedDocuments().contains(query.document()), query.name());
+            boolean covered = StreamSupport.stream(resolver.resolveIndexFor(query.document()).spliterator(), false)
+                    .anyMatch(index -> covers(index, query));
+            if (!covered) {
+                uncovered.add(query.name());
+            }
+        }
+        assertEquals(List.of(), uncovered);
+    }
+
+    @Test
+    void findsCollectionScansAnywhereInThePlan() {
+        assertFalse(QueryPlanVerifier.containsCollectionScan(Document.parse(
+                "{ 'stage': 'LIMIT', 'inputStage': { 'stage': 'FETCH', 'inputStage': { 'stage': 'IXSCAN' } } }")));
+        assertTrue(QueryPlanVerifier.containsCollectionScan(Document.parse(
+                "{ 'stage': 'SORT', 'inputStage': { 'stage': 'COLLSCAN' } }")));
+        assertTrue(QueryPlanVerifier.containsCollectionScan(Document.parse(
+                "{ 'queryPlan': { 'stage': 'OR', 'inputStages': [ { 'stage': 'IXSCAN' }, { 'stage': 'COLLSCAN' } ] } }")));
+        assertTrue(QueryPlanVerifier.containsCollectionScan(Document.parse(
+                "{ 'stage': 'SHARD_MERGE', 'shards': [ { 'winningPlan': { 'stage': 'COLLSCAN' } } ] }")));
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+    void hotQueriesUseIndexesOnARealServer() {
+        try (MongoClient client = MongoClients.create(System.getenv("MONGODB_URI"))) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "podcat_plans_" + UUID.randomUUID().toString().substring(0, 8));
+            try {
+                QueryPlanVerifier verifier = new QueryPlanVerifier(mongoTemplate);
+                IndexProvisioner provisioner = new IndexProvisioner(mongoTemplate, verifier);
+
+                assertTrue(provisioner.provision() > 0);
+                assertEquals(0, provisioner.provision());
+                assertEquals(List.of(), verifier.findCollectionScans());
+            } finally {
+                mongoTemplate.getDb().drop();
+            }
+        }
+    }
+
+    // The query's equality fields, in any order, then its sort fields in order and direction.
+    private static boolean covers(IndexDefinition index, QueryPlanVerifier.QueryShape query) {
+        List<Map.Entry<String, Object>> keys = new ArrayList<>(index.getIndexKeys().entrySet());
+        Set<String> equalities = Document.parse(query.filter()).keySet();
+        if (keys.size() < equalities.size()) {
+            return false;
+        }
+        Set<String> prefix = new HashSet<>();
+        keys.subList(0, equalities.size()).forEach(key -> prefix.add(key.getKey()));
+        if (!prefix.equals(equalities)) {
+            return false;
+        }
+        List<Map.Entry<String, Object>> sort = new ArrayList<>(Document.parse(query.sort()).entrySet());
+        List<Map.Entry<String, Object>> rest = keys.subList(equalities.size(), keys.size());
+        if (rest.size() < sort.size()) {
+            return false;
+        }
+        for (int i = 0; i < sort.size(); i++) {
+            if (!rest.get(i).getKey().equals(sort.get(i).getKey())
+                    || ((Number) rest.get(i).getValue()).intValue() != ((Number) sort.get(i).getValue()).intValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
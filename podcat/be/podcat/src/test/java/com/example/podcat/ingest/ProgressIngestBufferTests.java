@@ -0,0 +1,202 @@
+package com.example.podcat.ingest;
+
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.exception.ServiceUnavailableException;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.ListeningHistoryRepository;
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class ProgressIngestBufferTests {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final List<List<ListeningHistory>> upserts = new ArrayList<>();
+    private final List<ListeningHistory> stored = new ArrayList<>();
+    private ListeningHistoryRepository historyRepository;
+    private PodcastRepository podcastRepository;
+    private ViewCountAggregator viewCounter;
+    private ProgressIngestBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        historyRepository = mock(ListeningHistoryRepository.class);
+        podcastRepository = mock(PodcastRepository.class);
+        when(podcastRepository.findIdsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(id -> !id.equals("deleted"))
+                    .map(id -> Podcast.builder().id(id).build())
+                    .toList();
+        });
+        when(historyRepository.findListenTimes(anyList())).thenAnswer(invocation -> List.copyOf(stored));
+        doAnswer(invocation -> {
+            List<ListeningHistory> rows = invocation.getArgument(0);
+            upserts.add(List.copyOf(rows));
+            stored.addAll(rows);
+            return null;
+        }).when(historyRepository).upsertProgress(anyList());
+
+        viewCounter = new ViewCountAggregator(podcastRepository, new SimpleMeterRegistry(), Duration.ofMinutes(30));
+        buffer = buffer(1_000, 4_000);
+    }
+
+    private ProgressIngestBuffer buffer(int maxEntries, int hardMaxEntries) {
+        return new ProgressIngestBuffer(historyRepository, podcastRepository, viewCounter,
+                new CountCache(new SimpleMeterRegistry(), 60_000, 100), new SimpleMeterRegistry(),
+                maxEntries, hardMaxEntries, 2);
+    }
+
+    @Test
+    void heartbeatsCoalesceToLatestProgress() {
+        for (int second = 0; second < 100; second++) {
+            buffer.offer("alice", "p1", second, T0.plusSeconds(second));
+        }
+        verifyNoInteractions(historyRepository);
+
+        buffer.flush();
+
+        assertEquals(1, upserts.size());
+        ListeningHistory written = upserts.get(0).get(0);
+        assertEquals(99, written.getProgress());
+        assertEquals(T0.plusSeconds(99), written.getListenedAt());
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void flushWritesBoundedBatches() {
+        for (int i = 0; i < 5; i++) {
+            buffer.offer("alice", "p" + i, 10, T0);
+        }
+
+        buffer.flush();
+
+        assertEquals(List.of(2, 2, 1), upserts.stream().map(List::size).toList());
+    }
+
+    @Test
+    void failedBatchIsRetried() {
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doAnswer(invocation -> {
+                    upserts.add(List.copyOf(invocation.<List<ListeningHistory>>getArgument(0)));
+                    return null;
+                })
+                .when(historyRepository).upsertProgress(anyList());
+        buffer.offer("alice", "p1", 10, T0);
+
+        buffer.flush();
+        assertEquals(1, buffer.pendingCount());
+
+        buffer.flush();
+        assertEquals(1, upserts.size());
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void pendingHistoryIsThatUsersNewestFirstWithoutWriting() {
+        buffer.offer("alice", "p1", 10, T0);
+        buffer.offer("alice", "p2", 20, T0.plusSeconds(5));
+        buffer.offer("bob", "p1", 30, T0);
+
+        List<ListeningHistory> pending = buffer.pendingHistory("alice");
+
+        assertEquals(List.of("p2", "p1"), pending.stream().map(ListeningHistory::getPodcastId).toList());
+        assertEquals(List.of(20, 10), pending.stream().map(ListeningHistory::getProgress).toList());
+        assertEquals(List.of(), buffer.pendingHistory("carol"));
+        verifyNoInteractions(historyRepository);
+        assertEquals(3, buffer.pendingCount());
+    }
+
+    @Test
+    void progressForDeletedPodcastIsDropped() {
+        buffer.offer("alice", "deleted", 10, T0);
+
+        buffer.flush();
+
+        verify(historyRepository, never()).upsertProgress(anyList());
+        assertEquals(0, buffer.pendingCount());
+    }
+
+    @Test
+    void viewIsCountedOncePerSession() {
+        List<Map<String, Long>> views = new ArrayList<>();
+        doAnswer(invocation -> views.add(invocation.getArgument(0)))
+                .when(podcastRepository).incrementViewCounts(anyMap());
+
+        buffer.offer("alice", "p1", 10, T0);
+        buffer.flush();
+        buffer.offer("alice", "p1", 20, T0.plusSeconds(5));
+        buffer.flush();
+        buffer.offer("alice", "p1", 30, T0.plus(Duration.ofHours(2)));
+        buffer.flush();
+        viewCounter.flush();
+
+        assertEquals(List.of(Map.of("p1", 2L)), views);
+    }
+
+    @Test
+    void fullBufferNeverWaitsForAHangingMongo() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(historyRepository).upsertProgress(anyList());
+        ProgressIngestBuffer full = buffer(2, 4);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 4; i++) {
+                full.offer("alice", "p" + i, 10, T0);
+            }
+            // The early flush is stuck in Mongo; heartbeats still return at once.
+            assertTrue(writing.await(1, TimeUnit.SECONDS));
+            full.offer("alice", "p0", 20, T0.plusSeconds(15));
+            assertThrows(ServiceUnavailableException.class, () -> full.offer("alice", "p4", 10, T0));
+        });
+        assertEquals(4, full.pendingCount());
+        assertEquals(20, full.pendingProgress("alice", "p0").orElseThrow());
+
+        release.countDown();
+    }
+
+    @Test
+    void failingMongoCapsTheBufferAndStopsEarlyFlushes() {
+        doThrow(new DataAccessResourceFailureException("down")).when(historyRepository).upsertProgress(anyList());
+        ProgressIngestBuffer full = buffer(2, 4);
+        full.offer("alice", "p0", 10, T0);
+        full.flush();
+        verify(historyRepository, times(1)).upsertProgress(anyList());
+
+        for (int i = 1; i < 4; i++) {
+            full.offer("alice", "p" + i, 10, T0);
+        }
+        assertThrows(ServiceUnavailableException.class, () -> full.offer("bob", "p1", 10, T0));
+
+        // Past the soft limit, but the last write failed: retrying is left to the schedule.
+        verify(historyRepository, times(1)).upsertProgress(anyList());
+        assertEquals(4, full.pendingCount());
+    }
+}
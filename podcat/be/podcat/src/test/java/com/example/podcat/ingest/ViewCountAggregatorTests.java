@@ -0,0 +1,104 @@
+package com.example.podcat.ingest;
+
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ViewCountAggregatorTests {
+
+    private final Map<String, Long> written = new ConcurrentHashMap<>();
+    private PodcastRepository podcastRepository;
+    private ViewCountAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        podcastRepository = mock(PodcastRepository.class);
+        doAnswer(invocation -> {
+            Map<String, Long> deltas = invocation.getArgument(0);
+            deltas.forEach((podcastId, delta) -> written.merge(podcastId, delta, Long::sum));
+            return null;
+        }).when(podcastRepository).incrementViewCounts(anyMap());
+        aggregator = new ViewCountAggregator(podcastRepository, new SimpleMeterRegistry(), Duration.ofMinutes(30));
+    }
+
+    @Test
+    void concurrentViewsAreNeitherLostNorDoubled() throws InterruptedException {
+        int threads = 4;
+        int viewsPerThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < viewsPerThread; i++) {
+                    aggregator.record("p" + (i % 10));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        start.countDown();
+        while (workers.stream().anyMatch(Thread::isAlive)) {
+            aggregator.flush();
+        }
+        aggregator.flush();
+
+        assertEquals(10, written.size());
+        written.values().forEach(views -> assertEquals(threads * viewsPerThread / 10, views));
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        aggregator.record("p1");
+        aggregator.record("p1");
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doAnswer(invocation -> {
+                    Map<String, Long> deltas = invocation.getArgument(0);
+                    deltas.forEach((podcastId, delta) -> written.merge(podcastId, delta, Long::sum));
+                    return null;
+                })
+                .when(podcastRepository).incrementViewCounts(anyMap());
+
+        aggregator.flush();
+        assertTrue(written.isEmpty());
+
+        aggregator.record("p1");
+        aggregator.flush();
+        assertEquals(3, written.get("p1"));
+    }
+
+    @Test
+    void onlyListensStartingASessionCountAsViews() {
+        Instant now = Instant.parse("2025-01-01T12:00:00Z");
+
+        assertTrue(aggregator.onListen("p1", null, now));
+        assertFalse(aggregator.onListen("p1", now.minus(Duration.ofMinutes(5)), now));
+        assertTrue(aggregator.onListen("p1", now.minus(Duration.ofHours(2)), now));
+
+        aggregator.flushOnShutdown();
+        assertEquals(2, written.get("p1"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTests {
+
+    @Test
+    void roundTripsThroughToken() {
+        KeysetCursor cursor = KeysetCursor.after(Instant.ofEpochMilli(1_700_000_000_123L), "65f0c0ffee0000000000beef");
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void blankTokenStartsFromFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("YWJjOjEyMw"));
+    }
+}
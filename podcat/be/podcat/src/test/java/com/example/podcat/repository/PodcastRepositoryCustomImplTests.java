@@ -0,0 +1,60 @@
+package com.example.podcat.repository;
+
+import com.example.podcat.model.Podcast;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PodcastRepositoryCustomImplTests {
+
+    private MongoTemplate mongoTemplate;
+    private PodcastRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository = new PodcastRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void viewsLeaveTheVersionAlone() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Podcast.class)).thenReturn(bulk);
+
+        repository.incrementViewCounts(Map.of("p0", 3L));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).updateOne(any(Query.class), update.capture());
+        Document document = update.getValue().getUpdateObject();
+        assertEquals(new Document("viewCount", 3), document.get("$inc"));
+        assertFalse(document.containsKey("$currentDate"));
+    }
+
+    @Test
+    void likesMoveTheVersion() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Podcast.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        repository.incrementLikeCount("p0", 1);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Podcast.class));
+        assertEquals(new Document("likeCount", 1).append("version", 1), update.getValue().getUpdateObject().get("$inc"));
+    }
+}
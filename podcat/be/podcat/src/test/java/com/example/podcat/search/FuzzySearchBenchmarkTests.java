@@ -0,0 +1,103 @@
+package com.example.podcat.search;
+
+import com.example.podcat.SyntheticCatalog;
+import com.example.podcat.model.Podcast;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recall and latency of fuzzy against exact search when one query word carries a typo. Each
+ * query is two words of a known podcast's title; it counts as recalled when that podcast is in
+ * the top 20. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class FuzzySearchBenchmarkTests {
+
+    private static final int QUERIES = 2_000;
+    private static final int TOP = 20;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void recallAndLatency(int podcasts) {
+        SyntheticCatalog catalog = new SyntheticCatalog(7, 50_000);
+        InvertedIndex index = new InvertedIndex();
+        List<Podcast> targets = new ArrayList<>();
+        for (int i = 0; i < podcasts; i++) {
+            Podcast podcast = catalog.podcast(i);
+            index.put(podcast.getId(), PodcastSearchIndex.terms(podcast));
+            if (i % (podcasts / QUERIES) == 0 && targets.size() < QUERIES) {
+                targets.add(podcast);
+            }
+        }
+
+        Random random = new Random(11);
+        List<String> clean = new ArrayList<>();
+        List<String> typos = new ArrayList<>();
+        for (Podcast target : targets) {
+            List<String> words = TextNormalizer.tokenize(target.getTitle());
+            int first = random.nextInt(words.size() - 1);
+            clean.add(words.get(first) + " " + words.get(first + 1));
+            typos.add(words.get(first) + " " + misspell(words.get(first + 1), random));
+        }
+
+        // Warm up both paths before measuring.
+        run(index, targets, typos, true);
+        run(index, targets, typos, false);
+
+        report(podcasts, "exact/clean", run(index, targets, clean, false));
+        Result exact = run(index, targets, typos, false);
+        report(podcasts, "exact/typo", exact);
+        Result fuzzy = run(index, targets, typos, true);
+        report(podcasts, "fuzzy/typo", fuzzy);
+
+        assertTrue(fuzzy.recall() > exact.recall());
+    }
+
+    private static Result run(InvertedIndex index, List<Podcast> targets, List<String> queries, boolean fuzzy) {
+        long[] nanos = new long[queries.size()];
+        int recalled = 0;
+        for (int i = 0; i < queries.size(); i++) {
+            long started = System.nanoTime();
+            List<String> tokens = TextNormalizer.tokenize(queries.get(i));
+            InvertedIndex.Hits hits = index.searchBoosted(PodcastSearchIndex.groups(index, tokens, fuzzy), 0, TOP);
+            nanos[i] = System.nanoTime() - started;
+            if (hits.keys().contains(targets.get(i).getId())) {
+                recalled++;
+            }
+        }
+        Arrays.sort(nanos);
+        return new Result((double) recalled / queries.size(), nanos);
+    }
+
+    private static void report(int podcasts, String mode, Result result) {
+        long[] nanos = result.nanos();
+        System.out.printf("search podcasts=%d mode=%s recall@%d=%.3f p50=%.2fms p99=%.2fms%n",
+                podcasts, mode, TOP, result.recall(),
+                nanos[nanos.length / 2] / 1e6,
+                nanos[nanos.length * 99 / 100] / 1e6);
+    }
+
+    // One substitution, insertion or deletion away from the original word.
+    private static String misspell(String word, Random random) {
+        StringBuilder typo = new StringBuilder(word);
+        int at = random.nextInt(word.length());
+        char letter = (char) ('a' + random.nextInt(26));
+        switch (random.nextInt(3)) {
+            case 0 -> typo.setCharAt(at, letter == word.charAt(at) ? (char) ('a' + (letter - 'a' + 1) % 26) : letter);
+            case 1 -> typo.insert(at, letter);
+            default -> typo.deleteCharAt(at);
+        }
+        return typo.toString();
+    }
+
+    private record Result(double recall, long[] nanos) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.podcat.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTests {
+
+    @Test
+    void pagesThroughHitsByScore() {
+        InvertedIndex index = index(5);
+
+        InvertedIndex.Hits first = index.search(List.of(List.of("rome")), 0, 2);
+        InvertedIndex.Hits second = index.search(List.of(List.of("rome")), 2, 2);
+        InvertedIndex.Hits last = index.search(List.of(List.of("rome")), 4, 2);
+
+        assertEquals(5, first.total());
+        assertEquals(List.of("p4", "p3"), first.keys());
+        assertEquals(List.of("p2", "p1"), second.keys());
+        assertEquals(List.of("p0"), last.keys());
+    }
+
+    @Test
+    void deepPageReturnsNothingWithoutSizingByTheOffset() {
+        InvertedIndex index = index(5);
+
+        // 50 million pages of 20: sizing the top-k heap by the offset would take gigabytes.
+        InvertedIndex.Hits hits = index.search(List.of(List.of("rome")), 1_000_000_000, 20);
+
+        assertEquals(5, hits.total());
+        assertTrue(hits.keys().isEmpty());
+    }
+
+    @Test
+    void limitPastTheEndDoesNotOverflow() {
+        InvertedIndex index = index(5);
+
+        InvertedIndex.Hits hits = index.search(List.of(List.of("rome")), 3, Integer.MAX_VALUE);
+
+        assertEquals(List.of("p1", "p0"), hits.keys());
+    }
+
+    @Test
+    void negativeOffsetIsRejected() {
+        InvertedIndex index = index(5);
+
+        assertThrows(IllegalArgumentException.class, () -> index.search(List.of(List.of("rome")), -20, 20));
+    }
+
+    @Test
+    void reindexingReusesDocSlots() {
+        InvertedIndex index = index(5);
+
+        // Every edit re-indexes the podcast under a new doc id; compaction has to reclaim the old ones.
+        for (int round = 0; round < 10_000; round++) {
+            index.put("p" + round % 5, Map.of("rome", round % 5 + 1f, "empire", 1f));
+        }
+
+        assertEquals(5, index.size());
+        assertTrue(index.docSlots() < 2_000, "doc slots: " + index.docSlots());
+        assertEquals(List.of("p4", "p3", "p2", "p1", "p0"), index.search(List.of(List.of("rome")), 0, 10).keys());
+        assertEquals(5, index.search(List.of(List.of("rome"), List.of("empire")), 0, 10).total());
+    }
+
+    @Test
+    void searchFindsEveryLiveDocAfterCompactingRemovals() {
+        InvertedIndex index = index(3_000);
+
+        for (int i = 0; i < 3_000; i += 2) {
+            index.remove("p" + i);
+        }
+
+        assertEquals(1_500, index.size());
+        assertTrue(index.docSlots() < 3_000, "doc slots: " + index.docSlots());
+        // "empire" is in every doc and the removed ones still count towards its df.
+        InvertedIndex.Hits hits = index.search(List.of(List.of("rome"), List.of("empire")), 0, 1_500);
+        assertEquals(1_500, hits.total());
+        assertTrue(hits.keys().stream().allMatch(key -> Integer.parseInt(key.substring(1)) % 2 == 1));
+    }
+
+    @Test
+    void termInEveryDocStillRanksShortestFirstAfterARemoval() {
+        InvertedIndex index = index(5);
+        index.remove("p0");
+
+        // "empire" is in every doc, and the removed one still counts towards its document frequency.
+        InvertedIndex.Hits hits = index.search(List.of(List.of("empire")), 0, 2);
+
+        assertEquals(4, hits.total());
+        assertEquals(List.of("p1", "p2"), hits.keys());
+    }
+
+    @Test
+    void negativeScoresRankBelowPositiveOnes() {
+        InvertedIndex index = index(5);
+
+        // A negative boost makes every "rome" score negative: the most mentions now rank last.
+        InvertedIndex.Hits hits = index.searchBoosted(List.of(Map.of("rome", -1f)), 0, 2);
+
+        assertEquals(List.of("p0", "p1"), hits.keys());
+    }
+
+    // Podcast i mentions "rome" i + 1 times, so higher numbers rank first.
+    private static InvertedIndex index(int podcasts) {
+        InvertedIndex index = new InvertedIndex();
+        for (int i = 0; i < podcasts; i++) {
+            index.put("p" + i, Map.of("rome", i + 1f, "empire", 1f));
+        }
+        return index;
+    }
+}
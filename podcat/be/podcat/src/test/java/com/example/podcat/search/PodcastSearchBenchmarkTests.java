@@ -0,0 +1,64 @@
+package com.example.podcat.search;
+
+import com.example.podcat.SyntheticCatalog;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency of {@link InvertedIndex} queries over a synthetic catalog. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PodcastSearchBenchmarkTests {
+
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int MEASURED_QUERIES = 5_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void queryLatency(int podcasts) {
+        SyntheticCatalog catalog = new SyntheticCatalog(42, 50_000);
+        InvertedIndex index = new InvertedIndex();
+
+        long buildStarted = System.nanoTime();
+        for (int i = 0; i < podcasts; i++) {
+            var podcast = catalog.podcast(i);
+            index.put(podcast.getId(), PodcastSearchIndex.terms(podcast));
+        }
+        long buildMillis = (System.nanoTime() - buildStarted) / 1_000_000;
+
+        List<List<List<String>>> queries = new ArrayList<>();
+        for (int i = 0; i < WARMUP_QUERIES + MEASURED_QUERIES; i++) {
+            List<List<String>> groups = new ArrayList<>();
+            int terms = 1 + catalog.random().nextInt(3);
+            for (int t = 0; t < terms; t++) {
+                groups.add(List.of(TextNormalizer.fold(catalog.word())));
+            }
+            queries.add(groups);
+        }
+
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < queries.size(); i++) {
+            long started = System.nanoTime();
+            index.search(queries.get(i), 0, 20);
+            if (i >= WARMUP_QUERIES) {
+                nanos[i - WARMUP_QUERIES] = System.nanoTime() - started;
+            }
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("search podcasts=%d terms=%d build=%dms p50=%.2fms p99=%.2fms max=%.2fms%n",
+                podcasts, index.termCount(), buildMillis,
+                nanos[MEASURED_QUERIES / 2] / 1e6,
+                nanos[MEASURED_QUERIES * 99 / 100] / 1e6,
+                nanos[MEASURED_QUERIES - 1] / 1e6);
+        assertEquals(podcasts, index.size());
+    }
+}
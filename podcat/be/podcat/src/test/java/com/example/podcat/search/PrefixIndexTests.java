@@ -0,0 +1,51 @@
+package com.example.podcat.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTests {
+
+    private final PrefixIndex index = new PrefixIndex.Builder()
+            .add("The History of Rome", "title", 100, true)
+            .add("History Extra", "title", 500, true)
+            .add("Lịch sử Việt Nam", "title", 300, true)
+            .add("Nguyễn An", "author", 50, false)
+            .add("Nguyễn An", "author", 60, false)
+            .add("Hiking", "tag", 1000, false)
+            .build();
+
+    @Test
+    void completesByWeightAcrossFields() {
+        assertEquals(List.of("Hiking", "History Extra", "The History of Rome"), texts(index.complete("Hi", 10)));
+        assertEquals(List.of("History Extra"), texts(index.complete("his", 1)));
+    }
+
+    @Test
+    void matchesInsideTitlesAndIgnoresDiacritics() {
+        assertEquals(List.of("The History of Rome"), texts(index.complete("rome", 10)));
+        assertEquals(List.of("Lịch sử Việt Nam"), texts(index.complete("lich su", 10)));
+        assertEquals(List.of("Lịch sử Việt Nam"), texts(index.complete("viet", 10)));
+    }
+
+    @Test
+    void sumsWeightsOfRepeatedEntries() {
+        List<PrefixIndex.Suggestion> authors = index.complete("nguyen", 10);
+        assertEquals(1, authors.size());
+        assertEquals(110, authors.get(0).weight());
+    }
+
+    @Test
+    void emptyPrefixOrNoMatchReturnsNothing() {
+        assertTrue(index.complete("  ", 10).isEmpty());
+        assertTrue(index.complete("zz", 10).isEmpty());
+        assertTrue(PrefixIndex.EMPTY.complete("a", 10).isEmpty());
+    }
+
+    private static List<String> texts(List<PrefixIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(PrefixIndex.Suggestion::text).toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.podcat.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentUserArgumentResolverTests {
+
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolvesTheAuthenticatedUsername() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        assertEquals("alice", resolve(required()));
+        assertEquals("alice", resolve(optional()));
+    }
+
+    @Test
+    void anonymousRequestGetsNullOnlyWhereAuthenticationIsOptional() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new AnonymousAuthenticationToken("key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertNull(resolve(optional()));
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> resolve(required()));
+    }
+
+    @Test
+    void onlyAnnotatedStringParametersAreResolved() throws Exception {
+        assertTrue(resolver.supportsParameter(required()));
+        assertFalse(resolver.supportsParameter(new MethodParameter(handler(), 2)));
+    }
+
+    private Object resolve(MethodParameter parameter) {
+        return resolver.resolveArgument(parameter, null, null, null);
+    }
+
+    private static MethodParameter required() throws Exception {
+        return new MethodParameter(handler(), 0);
+    }
+
+    private static MethodParameter optional() throws Exception {
+        return new MethodParameter(handler(), 1);
+    }
+
+    private static Method handler() throws Exception {
+        return Handler.class.getDeclaredMethod("handle", String.class, String.class, List.class);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handler {
+        void handle(@CurrentUser String userId, @CurrentUser(required = false) String viewer, List<String> other) {
+        }
+    }
+}
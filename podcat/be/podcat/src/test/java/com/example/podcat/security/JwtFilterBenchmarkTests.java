@@ -0,0 +1,146 @@
+package com.example.podcat.security;
+
+import com.example.podcat.model.Role;
+import com.example.podcat.model.User;
+import com.example.podcat.repository.UserRepository;
+import com.example.podcat.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Authenticated requests per second through the JWT filter on four threads, 1000 users
+ * each reusing their token: the filter as it was (key and parser built per call, the token
+ * parsed twice, a user lookup per request) against claims-only authentication with verified
+ * tokens cached. The user lookup is a mock here, so the old filter's real cost is higher
+ * by a Mongo round trip per request. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class JwtFilterBenchmarkTests {
+
+    private static final String SECRET = "a-benchmark-secret-that-is-long-enough-for-hs256";
+    private static final int USERS = 1_000;
+    private static final int THREADS = 4;
+    private static final long MEASURE_MILLIS = 3_000;
+
+    @Test
+    void cachedClaimsAgainstPerRequestVerification() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 3_600_000, 100_000, new SimpleMeterRegistry());
+        List<String> tokens = IntStream.range(0, USERS)
+                .mapToObj(i -> jwtService.generateToken("user" + i, Set.of(Role.USER)))
+                .toList();
+        UserRepository users = mock(UserRepository.class);
+        when(users.findByUsername(anyString())).thenAnswer(invocation -> Optional.of(User.builder()
+                .username(invocation.getArgument(0)).password("hash").roles(Set.of(Role.USER)).build()));
+
+        double before = throughput(new PerRequestJwtFilter(new UserService(users)), tokens);
+        double after = throughput(new JwtFilter(jwtService), tokens);
+
+        System.out.printf("jwt filter requests/s before=%.0f after=%.0f (%.1fx)%n", before, after, after / before);
+        assertTrue(after > before);
+    }
+
+    private static double throughput(Filter filter, List<String> tokens) throws Exception {
+        run(filter, tokens, MEASURE_MILLIS / 3);
+        return run(filter, tokens, MEASURE_MILLIS) * 1000.0 / MEASURE_MILLIS;
+    }
+
+    private static long run(Filter filter, List<String> tokens, long millis) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder requests = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(THREADS);
+        FilterChain chain = (request, response) -> {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                throw new AssertionError("Request was not authenticated");
+            }
+        };
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            pool.execute(() -> {
+                try {
+                    for (int i = offset; !stop.get(); i += THREADS) {
+                        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/favorites");
+                        request.addHeader("Authorization", "Bearer " + tokens.get(i % tokens.size()));
+                        filter.doFilter(request, new MockHttpServletResponse(), chain);
+                        SecurityContextHolder.clearContext();
+                        requests.increment();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        Thread.sleep(millis);
+        stop.set(true);
+        done.await(10, TimeUnit.SECONDS);
+        pool.shutdown();
+        if (failure.get() != null) {
+            throw new AssertionError("Filter failed", failure.get());
+        }
+        return requests.sum();
+    }
+
+    // JwtFilter and JwtService as they were before verified tokens were cached.
+    private static final class PerRequestJwtFilter extends OncePerRequestFilter {
+        private final UserService userService;
+
+        PerRequestJwtFilter(UserService userService) {
+            this.userService = userService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            String token = request.getHeader("Authorization").substring(7);
+            String username = parse(token).getSubject();
+            var userDetails = userService.loadUserByUsername(username);
+            parse(token);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+            chain.doFilter(request, response);
+        }
+
+        private static Claims parse(String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.podcat.security;
+
+import com.example.podcat.model.Role;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTests {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService(SECRET, 60_000, 10, meterRegistry);
+
+    @Test
+    void authoritiesComeFromTheRolesClaim() {
+        String token = jwtService.generateToken("alice", Set.of(Role.ADMIN));
+
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+
+        assertEquals("alice", verified.username());
+        assertEquals(List.of("ROLE_ADMIN"), verified.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void signatureIsCheckedOncePerToken() {
+        String token = jwtService.generateToken("alice", Set.of(Role.USER));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("alice", jwtService.extractUsername(token));
+        }
+
+        assertEquals(1, verifications("verified"));
+        assertEquals(2, verifications("cached"));
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String forged = new JwtService("another-secret-that-is-long-enough-for-hs256", 60_000, 10, new SimpleMeterRegistry())
+                .generateToken("alice", Set.of(Role.ADMIN));
+
+        assertTrue(jwtService.verify(forged).isEmpty());
+        assertThrows(JwtException.class, () -> jwtService.extractUsername(forged));
+        assertTrue(jwtService.verify(forged).isEmpty());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = new JwtService(SECRET, -1_000, 10, new SimpleMeterRegistry())
+                .generateToken("alice", Set.of(Role.USER));
+
+        assertTrue(jwtService.verify(expired).isEmpty());
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(jwtService.isTokenValid(jwtService.generateToken("user" + i, Set.of(Role.USER))));
+        }
+
+        assertTrue(meterRegistry.get("podcat.cache.size").tag("cache", "tokens").gauge().value() <= 10);
+    }
+
+    private double verifications(String outcome) {
+        return meterRegistry.get("podcat.jwt.verifications").tag("outcome", outcome).counter().count();
+    }
+}
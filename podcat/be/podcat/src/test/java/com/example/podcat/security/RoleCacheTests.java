@@ -0,0 +1,87 @@
+package com.example.podcat.security;
+
+import com.example.podcat.model.Role;
+import com.example.podcat.model.User;
+import com.example.podcat.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RoleCacheTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserRepository userRepository;
+    private RoleCache roleCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        roleCache = new RoleCache(userRepository, meterRegistry, 60_000, 100);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalWithoutAdminRoleIsDeniedWithoutLookup() {
+        authenticate("alice", "ROLE_USER");
+
+        assertFalse(roleCache.isAdmin("alice"));
+        verify(userRepository, never()).findByUsername(anyString());
+        assertEquals(1, meterRegistry.get("podcat.authz.checks").tag("source", "principal").timer().count());
+    }
+
+    @Test
+    void adminClaimIsConfirmedOnceThenCached() {
+        authenticate("root", "ROLE_ADMIN");
+        stored("root", Role.ADMIN);
+
+        assertTrue(roleCache.isAdmin("root"));
+        assertTrue(roleCache.isAdmin("root"));
+
+        verify(userRepository, times(1)).findByUsername("root");
+    }
+
+    @Test
+    void demotionTakesEffectOnInvalidation() {
+        authenticate("root", "ROLE_ADMIN");
+        stored("root", Role.ADMIN);
+        assertTrue(roleCache.isAdmin("root"));
+
+        stored("root", Role.USER);
+        assertTrue(roleCache.isAdmin("root"));
+        roleCache.invalidate("root");
+
+        assertFalse(roleCache.isAdmin("root"));
+    }
+
+    @Test
+    void unknownUserIsNotAdmin() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertFalse(roleCache.isAdmin("ghost"));
+    }
+
+    private void stored(String username, Role role) {
+        when(userRepository.findByUsername(username))
+                .thenReturn(Optional.of(User.builder().username(username).roles(Set.of(role)).build()));
+    }
+
+    private static void authenticate(String username, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList(authority)));
+    }
+}
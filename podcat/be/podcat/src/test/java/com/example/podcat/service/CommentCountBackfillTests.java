@@ -0,0 +1,76 @@
+package com.example.podcat.service;
+
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CommentRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.PodcastRepositoryCustom.CommentRecount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentCountBackfillTests {
+
+    private CommentRepository commentRepository;
+    private PodcastRepository podcastRepository;
+    private CommentCountBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository = mock(CommentRepository.class);
+        podcastRepository = mock(PodcastRepository.class);
+        backfill = new CommentCountBackfill(commentRepository, podcastRepository);
+    }
+
+    @Test
+    void legacyPodcastIsRecountedEvenIfACommentAlreadyCreatedItsCount() {
+        // "legacy" got commentCount = 1 from a comment added after the upgrade; it has 5 comments in all.
+        when(podcastRepository.streamCommentUncountedVersions()).thenReturn(Stream.of(version("legacy", 7)));
+        when(commentRepository.countByPodcastId()).thenReturn(Map.of("legacy", 5L));
+        when(podcastRepository.recountComments(anyList())).thenReturn(1);
+
+        backfill.backfill();
+
+        verify(podcastRepository).recountComments(List.of(new CommentRecount("legacy", 7, 5)));
+    }
+
+    @Test
+    void podcastCommentedOnWhileCountingIsRecountedAgain() {
+        when(podcastRepository.streamCommentUncountedVersions())
+                .thenReturn(Stream.of(version("busy", 1), version("quiet", 1)))
+                .thenReturn(Stream.of(version("busy", 2)));
+        when(commentRepository.countByPodcastId())
+                .thenReturn(Map.of("busy", 3L))
+                .thenReturn(Map.of("busy", 4L));
+        // The first pass loses the race on "busy": its version moved to 2 before the write.
+        when(podcastRepository.recountComments(anyList())).thenReturn(1).thenReturn(1);
+
+        backfill.backfill();
+
+        verify(podcastRepository).recountComments(List.of(new CommentRecount("busy", 2, 4)));
+        verify(commentRepository, times(2)).countByPodcastId();
+    }
+
+    @Test
+    void nothingIsCountedOnceEveryPodcastIsMarked() {
+        when(podcastRepository.streamCommentUncountedVersions()).thenReturn(Stream.empty());
+
+        backfill.backfill();
+
+        verify(commentRepository, never()).countByPodcastId();
+        verify(podcastRepository, never()).recountComments(anyList());
+    }
+
+    private static Podcast version(String id, long version) {
+        return Podcast.builder().id(id).version(version).build();
+    }
+}
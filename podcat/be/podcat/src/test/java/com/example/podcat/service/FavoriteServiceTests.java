@@ -0,0 +1,133 @@
+package com.example.podcat.service;
+
+import com.example.podcat.QueryCounter;
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.dto.PageResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class FavoriteServiceTests {
+
+    private final QueryCounter queries = new QueryCounter();
+
+    private FavoriteRepository favoriteRepository;
+    private PodcastRepository podcastRepository;
+    private FavoriteService service;
+
+    @BeforeEach
+    void setUp() {
+        favoriteRepository = queries.mock(FavoriteRepository.class);
+        podcastRepository = queries.mock(PodcastRepository.class);
+        when(favoriteRepository.findPodcastIdsByUserId("alice")).thenReturn(List.of());
+
+        LikedPodcastIndex likedIndex = new LikedPodcastIndex(favoriteRepository, new SimpleMeterRegistry(), 1 << 20, 60_000);
+        service = new FavoriteService(
+                favoriteRepository,
+                podcastRepository,
+                new PodcastHydrator(new CategoryCache(mock(CategoryRepository.class), new SimpleMeterRegistry()), likedIndex),
+                likedIndex,
+                new CountCache(new SimpleMeterRegistry(), 60_000, 100)
+        );
+    }
+
+    @Test
+    void likeInsertsAndIncrementsWithoutRewritingThePodcast() {
+        when(favoriteRepository.insertIfAbsent(any(Favorite.class))).thenReturn(true);
+        when(podcastRepository.incrementLikeCount("p1", 1)).thenReturn(true);
+
+        service.toggleFavorite("alice", "p1");
+
+        verify(podcastRepository).incrementLikeCount("p1", 1);
+        verify(podcastRepository, never()).save(any(Podcast.class));
+        verify(favoriteRepository, never()).deleteByUserIdAndPodcastId(any(), any());
+        assertTrue(service.isFavorite("alice", "p1"));
+    }
+
+    @Test
+    void secondToggleUnlikes() {
+        when(favoriteRepository.insertIfAbsent(any(Favorite.class))).thenReturn(true);
+        when(podcastRepository.incrementLikeCount(any(), anyInt())).thenReturn(true);
+        when(favoriteRepository.deleteByUserIdAndPodcastId("alice", "p1")).thenReturn(1L);
+
+        service.toggleFavorite("alice", "p1");
+        service.toggleFavorite("alice", "p1");
+
+        verify(podcastRepository).incrementLikeCount("p1", -1);
+        assertFalse(service.isFavorite("alice", "p1"));
+    }
+
+    @Test
+    void staleIndexFallsBackToUnlike() {
+        // Liked from another instance: the insert hits the unique index and does nothing.
+        when(favoriteRepository.insertIfAbsent(any(Favorite.class))).thenReturn(false);
+        when(favoriteRepository.deleteByUserIdAndPodcastId("alice", "p1")).thenReturn(1L);
+
+        service.toggleFavorite("alice", "p1");
+
+        verify(podcastRepository, never()).incrementLikeCount("p1", 1);
+        verify(podcastRepository).incrementLikeCount("p1", -1);
+        assertFalse(service.isFavorite("alice", "p1"));
+    }
+
+    @Test
+    void likingMissingPodcastLeavesNoFavorite() {
+        when(favoriteRepository.insertIfAbsent(any(Favorite.class))).thenReturn(true);
+        when(podcastRepository.incrementLikeCount("gone", 1)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.toggleFavorite("alice", "gone"));
+        verify(favoriteRepository).deleteByUserIdAndPodcastId("alice", "gone");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void favoritesPageCostsFixedNumberOfQueries(int size) {
+        List<Favorite> favorites = IntStream.range(0, size)
+                .mapToObj(i -> Favorite.builder().id("f" + i).userId("alice").podcastId("p" + i)
+                        .createdAt(Instant.now()).build())
+                .collect(Collectors.toList());
+        when(favoriteRepository.findSliceByUserIdOrderByCreatedAtDesc(anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(favorites, invocation.getArgument(1), false));
+        // Every other podcast has been deleted since it was liked.
+        when(podcastRepository.findCardsByIdIn(anyCollection())).thenReturn(IntStream.range(0, size)
+                .filter(i -> i % 2 == 0)
+                .mapToObj(i -> Podcast.builder().id("p" + (size - 1 - i)).createdAt(Instant.now()).build())
+                .collect(Collectors.toList()));
+        queries.reset();
+
+        PageResponse<PodcastResponse> page = service.getUserFavorites("alice", PageRequest.of(0, size));
+
+        assertEquals(2, queries.count());
+        List<String> expected = favorites.stream()
+                .map(Favorite::getPodcastId)
+                .filter(id -> Integer.parseInt(id.substring(1)) % 2 == (size - 1) % 2)
+                .toList();
+        assertEquals(expected, page.getContent().stream().map(PodcastResponse::getId).toList());
+        assertTrue(page.getContent().stream().allMatch(PodcastResponse::isLiked));
+    }
+}
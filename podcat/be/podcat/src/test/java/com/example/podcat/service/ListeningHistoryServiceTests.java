@@ -0,0 +1,124 @@
+package com.example.podcat.service;
+
+import com.example.podcat.QueryCounter;
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.dto.ListeningHistoryResponse;
+import com.example.podcat.dto.SliceResponse;
+import com.example.podcat.ingest.ProgressIngestBuffer;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.ListeningHistoryRepository;
+import com.example.podcat.repository.PodcastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ListeningHistoryServiceTests {
+
+    private final QueryCounter queries = new QueryCounter();
+
+    private ListeningHistoryRepository historyRepository;
+    private PodcastRepository podcastRepository;
+    private ProgressIngestBuffer progressBuffer;
+    private ListeningHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        historyRepository = queries.mock(ListeningHistoryRepository.class);
+        podcastRepository = queries.mock(PodcastRepository.class);
+        progressBuffer = mock(ProgressIngestBuffer.class);
+        service = new ListeningHistoryService(
+                historyRepository,
+                podcastRepository,
+                new CountCache(new SimpleMeterRegistry(), 60_000, 100),
+                progressBuffer
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void historyPageCostsFixedNumberOfQueries(int size) {
+        List<ListeningHistory> history = IntStream.range(0, size)
+                .mapToObj(i -> ListeningHistory.builder().id("h" + i).userId("alice").podcastId("p" + i)
+                        .listenedAt(Instant.now()).progress(i).build())
+                .collect(Collectors.toList());
+        when(historyRepository.findSliceByUserIdOrderByListenedAtDesc(anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(history, invocation.getArgument(1), true));
+        // The first podcast has been deleted; the rest come back in reverse order.
+        when(podcastRepository.findHistoryCardsByIdIn(anyCollection())).thenReturn(IntStream.range(1, size)
+                .mapToObj(i -> Podcast.builder().id("p" + (size - i)).title("t" + (size - i)).build())
+                .collect(Collectors.toList()));
+        queries.reset();
+
+        SliceResponse<ListeningHistoryResponse> slice = service.getUserHistorySlice("alice", PageRequest.of(0, size));
+
+        assertEquals(2, queries.count());
+        assertEquals(history.stream().skip(1).map(ListeningHistory::getPodcastId).toList(),
+                slice.getContent().stream().map(ListeningHistoryResponse::getPodcastId).toList());
+        slice.getContent().forEach(entry -> assertEquals("t" + entry.getPodcastId().substring(1), entry.getPodcastTitle()));
+    }
+
+    @Test
+    void bufferedProgressLeadsTheFirstPageWithoutBeingWritten() {
+        Instant now = Instant.parse("2025-01-01T00:10:00Z");
+        when(historyRepository.findLatestByUserId(anyString(), any(), anyInt())).thenReturn(List.of(
+                history("h1", "p1", now.minusSeconds(60), 30),
+                history("h2", "p2", now.minusSeconds(120), 40)));
+        // p2 is still playing; p3 was started after the last flush and has no row yet.
+        when(progressBuffer.pendingHistory("alice")).thenReturn(List.of(
+                history(null, "p3", now, 5),
+                history(null, "p2", now.minusSeconds(10), 55)));
+        when(podcastRepository.findHistoryCardsByIdIn(anyCollection())).thenReturn(List.of(
+                Podcast.builder().id("p1").build(), Podcast.builder().id("p2").build(), Podcast.builder().id("p3").build()));
+
+        List<ListeningHistoryResponse> page = service.getUserHistory("alice", null, 20).getContent();
+
+        assertEquals(List.of("p3", "p2", "p1"), page.stream().map(ListeningHistoryResponse::getPodcastId).toList());
+        assertEquals(List.of(5, 55, 30), page.stream().map(ListeningHistoryResponse::getProgress).toList());
+        assertEquals("h2", page.get(1).getId());
+        verify(progressBuffer, never()).flush();
+        verify(historyRepository, never()).upsertProgress(anyList());
+    }
+
+    @Test
+    void laterPagesLeaveOutRowsTheFirstPageShowsBuffered() {
+        Instant now = Instant.parse("2025-01-01T00:10:00Z");
+        when(historyRepository.findSliceByUserIdOrderByListenedAtDesc(anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(List.of(
+                        history("h7", "p7", now.minusSeconds(600), 10),
+                        history("h8", "p8", now.minusSeconds(700), 20)), invocation.getArgument(1), false));
+        when(progressBuffer.pendingHistory("alice")).thenReturn(List.of(history(null, "p8", now, 25)));
+        when(podcastRepository.findHistoryCardsByIdIn(anyCollection())).thenReturn(List.of(
+                Podcast.builder().id("p7").build(), Podcast.builder().id("p8").build()));
+
+        SliceResponse<ListeningHistoryResponse> slice = service.getUserHistorySlice("alice", PageRequest.of(3, 2));
+
+        assertEquals(List.of("p7"), slice.getContent().stream().map(ListeningHistoryResponse::getPodcastId).toList());
+    }
+
+    private static ListeningHistory history(String id, String podcastId, Instant listenedAt, int progress) {
+        return ListeningHistory.builder().id(id).userId("alice").podcastId(podcastId)
+                .listenedAt(listenedAt).progress(progress).build();
+    }
+}
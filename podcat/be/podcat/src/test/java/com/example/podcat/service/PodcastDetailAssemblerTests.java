@@ -0,0 +1,173 @@
+package com.example.podcat.service;
+
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.ingest.ProgressIngestBuffer;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.ListeningHistory;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.model.UserProfile;
+import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.ListeningHistoryRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.UserProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PodcastDetailAssemblerTests {
+
+    private static final Instant CREATED = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final Podcast podcast = Podcast.builder()
+            .id("p0").userId("carol").categoryId("c0").version(4).createdAt(CREATED).build();
+
+    private PodcastRepository podcastRepository;
+    private ListeningHistoryRepository historyRepository;
+    private UserProfileRepository profileRepository;
+    private ProgressIngestBuffer progressBuffer;
+    private CategoryCache categoryCache;
+    private LikedPodcastIndex likedIndex;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        podcastRepository = mock(PodcastRepository.class);
+        historyRepository = mock(ListeningHistoryRepository.class);
+        profileRepository = mock(UserProfileRepository.class);
+        progressBuffer = mock(ProgressIngestBuffer.class);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        FavoriteRepository favoriteRepository = mock(FavoriteRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(podcastRepository.findById("p0")).thenAnswer(invocation -> Optional.of(podcast));
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(Category.builder().id("c0").name("History").version(2).build()));
+        when(favoriteRepository.findPodcastIdsByUserId("alice"))
+                .thenReturn(List.of(Favorite.builder().userId("alice").podcastId("p0").build()));
+        when(favoriteRepository.findPodcastIdsByUserId("bob")).thenReturn(List.of());
+
+        categoryCache = new CategoryCache(categoryRepository, new SimpleMeterRegistry());
+        categoryCache.findAll();
+        likedIndex = new LikedPodcastIndex(favoriteRepository, new SimpleMeterRegistry(), 1 << 20, 60_000);
+    }
+
+    private PodcastDetailAssembler assembler(long deadlineMillis) {
+        return new PodcastDetailAssembler(podcastRepository, historyRepository, profileRepository, progressBuffer,
+                categoryCache, likedIndex, meterRegistry, deadlineMillis);
+    }
+
+    @Test
+    void versionCoversEverythingTheDetailDependsOn() {
+        PodcastDetailAssembler assembler = assembler(5_000);
+
+        ResourceVersion anonymous = assembler.assemble("p0", null).version();
+        assertEquals(CREATED, anonymous.lastModified());
+
+        // liked flag and progress are per user, so they are in the ETag but cannot be told by a timestamp
+        ResourceVersion alice = assembler.assemble("p0", "alice").version();
+        ResourceVersion bob = assembler.assemble("p0", "bob").version();
+        assertNotEquals(alice.etag(), bob.etag());
+        assertNull(alice.lastModified());
+
+        when(progressBuffer.pendingProgress("bob", "p0")).thenReturn(OptionalInt.of(120));
+        PodcastDetail listened = assembler.assemble("p0", "bob");
+        assertEquals(120, listened.response().getListeningProgress());
+        assertNotEquals(bob.etag(), listened.version().etag());
+
+        // the author's profile is covered by the podcast's version, which a profile edit moves
+        when(profileRepository.findByUserId("carol"))
+                .thenReturn(Optional.of(UserProfile.builder().userId("carol").name("Carol").build()));
+        PodcastDetail withAuthor = assembler.assemble("p0", null);
+        assertEquals("Carol", withAuthor.response().getAuthorProfile().getName());
+        assertEquals("History", withAuthor.response().getCategoryName());
+
+        podcast.setVersion(5);
+        podcast.setUpdatedAt(CREATED.plusSeconds(60));
+        ResourceVersion edited = assembler.assemble("p0", null).version();
+        assertNotEquals(withAuthor.version().etag(), edited.etag());
+        assertEquals(CREATED.plusSeconds(60), edited.lastModified());
+    }
+
+    @Test
+    void currentVersionMatchesTheDetailWithoutLoadingIt() {
+        when(podcastRepository.findVersionById("p0")).thenAnswer(invocation -> Optional.of(podcast));
+        when(progressBuffer.pendingProgress("alice", "p0")).thenReturn(OptionalInt.of(90));
+        PodcastDetailAssembler assembler = assembler(5_000);
+
+        assertEquals(assembler.assemble("p0", "alice").version(), assembler.currentVersion("p0", "alice"));
+        assertEquals(assembler.assemble("p0", null).version(), assembler.currentVersion("p0", null));
+
+        clearInvocations(podcastRepository, profileRepository);
+        assembler.currentVersion("p0", "alice");
+        verify(podcastRepository, never()).findById("p0");
+        verifyNoInteractions(profileRepository);
+    }
+
+    @Test
+    void independentLookupsRunAtTheSameTime() {
+        // Each lookup waits for the other to have started, which only works out if they overlap.
+        CountDownLatch podcastStarted = new CountDownLatch(1);
+        CountDownLatch progressStarted = new CountDownLatch(1);
+        when(podcastRepository.findById("p0")).thenAnswer(invocation -> {
+            podcastStarted.countDown();
+            assertTrue(progressStarted.await(5, TimeUnit.SECONDS));
+            return Optional.of(podcast);
+        });
+        when(historyRepository.findByUserIdAndPodcastId("alice", "p0")).thenAnswer(invocation -> {
+            progressStarted.countDown();
+            podcastStarted.await(5, TimeUnit.SECONDS);
+            return Optional.of(ListeningHistory.builder().userId("alice").podcastId("p0").progress(300).build());
+        });
+
+        PodcastDetail detail = assembler(5_000).assemble("p0", "alice");
+
+        assertEquals(300, detail.response().getListeningProgress());
+        assertTrue(detail.response().isLiked());
+        assertNotNull(detail.version().etag());
+    }
+
+    @Test
+    void optionalPartPastTheDeadlineIsLeftOut() {
+        when(profileRepository.findByUserId("carol")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return Optional.empty();
+        });
+
+        long started = System.nanoTime();
+        PodcastDetail detail = assembler(50).assemble("p0", "alice");
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 2_000);
+        assertNull(detail.response().getAuthorProfile());
+        assertTrue(detail.response().isLiked());
+        // a degraded detail must not be revalidated as the current one
+        assertSame(ResourceVersion.NONE, detail.version());
+        assertEquals(1, meterRegistry.counter("podcat.podcasts.detail.degraded", "part", "author").count());
+    }
+
+    @Test
+    void missingPodcastIsNotFound() {
+        when(podcastRepository.findById("gone")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> assembler(5_000).assemble("gone", "alice"));
+    }
+}
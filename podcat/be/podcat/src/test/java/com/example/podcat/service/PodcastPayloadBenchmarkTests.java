@@ -0,0 +1,110 @@
+package com.example.podcat.service;
+
+import com.example.podcat.SyntheticCatalog;
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.dto.PageResponse;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Bytes Mongo sends and Jackson writes for a 20-podcast list page, full against summary, over a
+ * seeded catalog; plus the time to map and serialize one page. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class PodcastPayloadBenchmarkTests {
+
+    private static final int PODCASTS = 10_000;
+    private static final int PAGE = 20;
+    private static final int ROUNDS = 20_000;
+
+    @Test
+    void summaryPayloadAgainstFull() throws Exception {
+        List<Podcast> catalog = new SyntheticCatalog(7, 50_000).podcasts(PODCASTS);
+
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        Set<String> summaryFields = Document.parse(PodcastRepository.SUMMARY_FIELDS).keySet();
+        long fullBson = 0;
+        long summaryBson = 0;
+        for (Podcast podcast : catalog) {
+            Document document = new Document();
+            converter.write(podcast, document);
+            fullBson += bsonSize(document);
+            document.keySet().removeIf(key -> !key.equals("_id") && !summaryFields.contains(key));
+            summaryBson += bsonSize(document);
+        }
+
+        PodcastHydrator hydrator = new PodcastHydrator(
+                new CategoryCache(mock(CategoryRepository.class), new SimpleMeterRegistry()),
+                new LikedPodcastIndex(mock(FavoriteRepository.class), new SimpleMeterRegistry(), 1 << 20, 60_000));
+        ObjectMapper mapper = new ObjectMapper();
+        Result full = serialize(catalog, mapper, page -> hydrator.toPageResponse(page, null));
+        Result summary = serialize(catalog, mapper, hydrator::toSummaryPageResponse);
+
+        System.out.printf("payload mongo bytes/page full=%d summary=%d%n",
+                fullBson * PAGE / PODCASTS, summaryBson * PAGE / PODCASTS);
+        System.out.printf("payload json bytes/page full=%d summary=%d%n", full.bytes(), summary.bytes());
+        System.out.printf("payload map+serialize/page full p50=%.1fus p99=%.1fus summary p50=%.1fus p99=%.1fus%n",
+                full.percentile(50), full.percentile(99), summary.percentile(50), summary.percentile(99));
+
+        assertTrue(summaryBson < fullBson);
+        assertTrue(summary.bytes() < full.bytes());
+    }
+
+    private static long bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private static Result serialize(List<Podcast> catalog, ObjectMapper mapper,
+                                    Function<PageImpl<Podcast>, PageResponse<?>> toResponse) throws Exception {
+        List<PageImpl<Podcast>> pages = new ArrayList<>();
+        for (int from = 0; from + PAGE <= catalog.size(); from += PAGE) {
+            pages.add(new PageImpl<>(catalog.subList(from, from + PAGE), PageRequest.of(from / PAGE, PAGE), catalog.size()));
+        }
+        // Warm up before measuring.
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writeValueAsBytes(toResponse.apply(pages.get(i % pages.size())));
+        }
+        long[] nanos = new long[ROUNDS];
+        long bytes = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long started = System.nanoTime();
+            bytes += mapper.writeValueAsBytes(toResponse.apply(pages.get(i % pages.size()))).length;
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return new Result(bytes / ROUNDS, nanos);
+    }
+
+    private record Result(long bytes, long[] nanos) {
+        double percentile(int p) {
+            return nanos[Math.min(nanos.length - 1, nanos.length * p / 100)] / 1e3;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.podcat.service;
+
+import com.example.podcat.QueryCounter;
+import com.example.podcat.cache.CategoryCache;
+import com.example.podcat.cache.CountCache;
+import com.example.podcat.cache.LikedPodcastIndex;
+import com.example.podcat.dto.CommentResponse;
+import com.example.podcat.dto.CursorPageResponse;
+import com.example.podcat.dto.PageResponse;
+import com.example.podcat.dto.PodcastResponse;
+import com.example.podcat.exception.BadRequestException;
+import com.example.podcat.exception.ResourceNotFoundException;
+import com.example.podcat.dto.SliceResponse;
+import com.example.podcat.model.Category;
+import com.example.podcat.model.Comment;
+import com.example.podcat.model.Favorite;
+import com.example.podcat.model.Podcast;
+import com.example.podcat.repository.CategoryRepository;
+import com.example.podcat.repository.CommentRepository;
+import com.example.podcat.repository.FavoriteRepository;
+import com.example.podcat.repository.PodcastRepository;
+import com.example.podcat.repository.UserRepository;
+import com.example.podcat.search.PodcastSearchIndex;
+import com.example.podcat.search.PodcastSuggester;
+import com.example.podcat.security.RoleCache;
+import com.example.podcat.stream.CommentStreamRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PodcastServiceTests {
+
+    private final QueryCounter queries = new QueryCounter();
+
+    private PodcastRepository podcastRepository;
+    private CategoryRepository categoryRepository;
+    private FavoriteRepository favoriteRepository;
+    private CommentRepository commentRepository;
+    private PodcastSearchIndex searchIndex;
+    private PodcastService service;
+
+    @BeforeEach
+    void setUp() {
+        podcastRepository = queries.mock(PodcastRepository.class);
+        categoryRepository = queries.mock(CategoryRepository.class);
+        favoriteRepository = queries.mock(FavoriteRepository.class);
+        commentRepository = queries.mock(CommentRepository.class);
+
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(category("c0"), category("c1"), category("c2")));
+        CategoryCache categoryCache = new CategoryCache(categoryRepository, new SimpleMeterRegistry());
+        categoryCache.findAll();
+
+        LikedPodcastIndex likedIndex = new LikedPodcastIndex(favoriteRepository, new SimpleMeterRegistry(), 1 << 20, 60_000);
+
+        PodcastHydrator hydrator = new PodcastHydrator(categoryCache, likedIndex);
+        searchIndex = new PodcastSearchIndex(podcastRepository);
+        service = new PodcastService(
+                podcastRepository,
+                commentRepository,
+                new RoleCache(queries.mock(UserRepository.class), new SimpleMeterRegistry(), 60_000, 100),
+                hydrator,
+                mock(PodcastDetailAssembler.class),
+                searchIndex,
+                new PodcastSuggester(podcastRepository, categoryCache, new SimpleMeterRegistry(), 900_000),
+                new CountCache(new SimpleMeterRegistry(), 60_000, 100),
+                mock(CommentStreamRegistry.class)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void listPageCostsFixedNumberOfQueries(int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        List<Podcast> podcasts = podcasts(size);
+
+        when(podcastRepository.findSliceBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(podcasts, pageable, true));
+        when(podcastRepository.findSliceByCategoryId(anyString(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(podcasts, pageable, true));
+        when(podcastRepository.count()).thenReturn(1000L);
+        when(podcastRepository.countByCategoryId(anyString())).thenReturn(1000L);
+        when(favoriteRepository.findPodcastIdsByUserId("alice"))
+                .thenReturn(List.of(favorite("alice", "p0")));
+
+        // cold: the page query, its total, and one load of alice's liked set
+        queries.reset();
+        PageResponse<PodcastResponse> page = service.getAll("alice", pageable);
+        assertEquals(3, queries.count());
+
+        // warm: the total is cached and liked flags are answered from memory
+        queries.reset();
+        service.getAll("alice", pageable);
+        assertEquals(1, queries.count());
+
+        // a new filter needs its own total once
+        queries.reset();
+        service.getByCategory("c1", "alice", pageable);
+        assertEquals(2, queries.count());
+
+        queries.reset();
+        service.getAll(null, pageable);
+        assertEquals(1, queries.count());
+
+        // count-free slices never count
+        queries.reset();
+        SliceResponse<PodcastResponse> slice = service.getByCategorySlice("c2", "alice", pageable);
+        assertEquals(1, queries.count());
+        assertTrue(slice.isHasNext());
+
+        assertEquals(1000, page.getTotalElements());
+        assertEquals(size, page.getContent().size());
+        assertEquals("Category c0", page.getContent().get(0).getCategoryName());
+        assertTrue(page.getContent().get(0).isLiked());
+        if (size > 1) {
+            assertEquals("Category c1", page.getContent().get(1).getCategoryName());
+            assertFalse(page.getContent().get(1).isLiked());
+        }
+    }
+
+    @Test
+    void lastPageNeedsNoCount() {
+        Pageable pageable = PageRequest.of(3, 20);
+        when(podcastRepository.findSliceBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(podcasts(5), pageable, false));
+
+        queries.reset();
+        PageResponse<PodcastResponse> page = service.getAll(null, pageable);
+        assertEquals(1, queries.count());
+        assertEquals(65, page.getTotalElements());
+        assertEquals(4, page.getTotalPages());
+    }
+
+    @Test
+    void searchPastTheLastHitLoadsNothing() {
+        when(podcastRepository.streamAllForSearch()).thenReturn(podcasts(5).stream());
+        searchIndex.rebuild();
+
+        queries.reset();
+        PageResponse<PodcastResponse> page = service.search("podcast", false, null, PageRequest.of(50_000_000, 20));
+
+        assertEquals(0, queries.count());
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @Test
+    void searchOffsetBeyondAnIntIsRejected() {
+        when(podcastRepository.streamAllForSearch()).thenReturn(podcasts(5).stream());
+        searchIndex.rebuild();
+
+        Pageable tooDeep = PageRequest.of(Integer.MAX_VALUE, 100);
+
+        assertThrows(BadRequestException.class, () -> service.search("podcast", false, null, tooDeep));
+        assertThrows(BadRequestException.class, () -> service.searchSummariesSlice("podcast", false, tooDeep));
+    }
+
+    @Test
+    void commentOnMissingPodcastIsNotStored() {
+        when(podcastRepository.incrementCommentCount("gone", 1)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.addComment("gone", "alice", "hi"));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void concurrentDeleteDecrementsOnce() {
+        Comment comment = Comment.builder().id("c1").podcastId("p0").userId("alice")
+                .createdAt(LocalDateTime.now()).build();
+        when(commentRepository.findById("c1")).thenReturn(Optional.of(comment));
+        // Another request removed the comment between the lookup and the delete.
+        when(commentRepository.removeById("c1")).thenReturn(0L);
+
+        service.deleteComment("c1", "alice");
+
+        verify(podcastRepository, never()).incrementCommentCount(anyString(), anyInt());
+    }
+
+    @Test
+    void unpagedCommentsThatHitTheCapTellWhereToResume() {
+        when(commentRepository.findLatestByPodcastId(eq("p0"), isNull(), anyInt())).thenAnswer(invocation ->
+                IntStream.range(0, invocation.<Integer>getArgument(2))
+                        .mapToObj(i -> Comment.builder().id("c" + i).podcastId("p0").userId("alice")
+                                .createdAt(LocalDateTime.now().minusSeconds(i)).build())
+                        .toList());
+
+        CursorPageResponse<CommentResponse> comments = service.getComments("p0");
+
+        assertEquals(200, comments.getContent().size());
+        assertTrue(comments.isHasNext());
+        assertNotNull(comments.getNextCursor());
+    }
+
+    private static List<Podcast> podcasts(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Podcast.builder()
+                        .id("p" + i)
+                        .title("Podcast " + i)
+                        .createdAt(Instant.now())
+                        .categoryId("c" + (i % 3))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static Category category(String id) {
+        return Category.builder().id(id).name("Category " + id).build();
+    }
+
+    private static Favorite favorite(String userId, String podcastId) {
+        return Favorite.builder().userId(userId).podcastId(podcastId).build();
+    }
+}
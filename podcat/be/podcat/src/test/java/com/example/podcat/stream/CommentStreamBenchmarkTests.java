@@ -0,0 +1,78 @@
+package com.example.podcat.stream;
+
+import com.example.podcat.dto.CommentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fan-out of one comment to 10k subscribers of a single podcast on four sender threads:
+ * the time from publishing to the last subscriber having it written, and the threads that
+ * costs. Emitters stand in for the connections, so this measures the registry, not the network.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CommentStreamBenchmarkTests {
+
+    private static final int SUBSCRIBERS = 10_000;
+    private static final int SENDERS = 4;
+    private static final int ROUNDS = 200;
+
+    @Test
+    void fanOutToTenThousandSubscribers() throws Exception {
+        ExecutorService senders = Executors.newFixedThreadPool(SENDERS);
+        CommentStreamRegistry registry = new CommentStreamRegistry(new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), senders, 60_000, 32, SUBSCRIBERS);
+        AtomicReference<CountDownLatch> delivered = new AtomicReference<>();
+        int threadsBefore = Thread.activeCount();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            registry.register("hot", new CountingEmitter(delivered));
+        }
+        assertEquals(SUBSCRIBERS, registry.subscriberCount());
+
+        long[] nanos = new long[ROUNDS];
+        for (int round = -ROUNDS; round < ROUNDS; round++) {
+            CountDownLatch latch = new CountDownLatch(SUBSCRIBERS);
+            delivered.set(latch);
+            long started = System.nanoTime();
+            registry.publishCreated("hot", CommentResponse.builder().id("c" + round).userId("alice").content("hi").build());
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            if (round >= 0) {
+                nanos[round] = System.nanoTime() - started;
+            }
+        }
+        int threads = Thread.activeCount() - threadsBefore;
+        senders.shutdown();
+
+        Arrays.sort(nanos);
+        System.out.printf("comment fan-out to %d subscribers p50=%.2fms p99=%.2fms threads=%d%n",
+                SUBSCRIBERS, nanos[ROUNDS / 2] / 1e6, nanos[ROUNDS * 99 / 100] / 1e6, threads);
+        assertTrue(threads <= SENDERS);
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+        private final AtomicReference<CountDownLatch> delivered;
+
+        CountingEmitter(AtomicReference<CountDownLatch> delivered) {
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build();
+            delivered.get().countDown();
+        }
+    }
+}
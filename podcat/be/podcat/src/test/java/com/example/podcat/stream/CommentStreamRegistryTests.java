@@ -0,0 +1,130 @@
+package com.example.podcat.stream;
+
+import com.example.podcat.dto.CommentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentStreamRegistryTests {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private CommentStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CommentStreamRegistry(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+                tasks::add, 60_000, 3, 2);
+    }
+
+    @Test
+    void commentsReachSubscribersOfThatPodcastOnly() {
+        RecordingEmitter p1 = subscribe("p1");
+        RecordingEmitter p2 = subscribe("p2");
+
+        registry.publishCreated("p1", comment("c1"));
+        registry.publishDeleted("p1", "c1");
+        runTasks();
+
+        assertEquals(2, p1.events.size());
+        assertTrue(p1.events.get(0).contains("event:comment\n"));
+        assertTrue(p1.events.get(1).contains("event:comment-deleted\n"));
+        assertTrue(p2.events.isEmpty());
+    }
+
+    @Test
+    void slowSubscriberKeepsNewestEvents() {
+        RecordingEmitter emitter = subscribe("p1");
+
+        for (int i = 0; i < 5; i++) {
+            registry.publishCreated("p1", comment("c" + i));
+        }
+        assertEquals(1, tasks.size());
+        runTasks();
+
+        assertEquals(List.of("c2", "c3", "c4"), emitter.ids());
+    }
+
+    @Test
+    void failedWriteRemovesSubscriber() {
+        RecordingEmitter emitter = subscribe("p1");
+        emitter.broken = true;
+
+        registry.heartbeat();
+        runTasks();
+
+        assertEquals(0, registry.subscriberCount());
+        registry.publishCreated("p1", comment("c1"));
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void heartbeatSkipsSubscribersWithPendingEvents() {
+        RecordingEmitter emitter = subscribe("p1");
+
+        registry.publishCreated("p1", comment("c1"));
+        registry.heartbeat();
+        runTasks();
+        registry.heartbeat();
+        runTasks();
+
+        assertEquals(2, emitter.events.size());
+        assertTrue(emitter.events.get(1).startsWith(":heartbeat"));
+    }
+
+    @Test
+    void fullNodeTurnsSubscribersAway() {
+        subscribe("p1");
+        subscribe("p2");
+
+        assertTrue(registry.register("p3", new RecordingEmitter()).isEmpty());
+        assertEquals(2, registry.subscriberCount());
+    }
+
+    private RecordingEmitter subscribe(String podcastId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        assertTrue(registry.register(podcastId, emitter).isPresent());
+        return emitter;
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    private static CommentResponse comment(String id) {
+        return CommentResponse.builder().id(id).userId("alice").content("hi").build();
+    }
+
+    static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        volatile boolean broken;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> ids() {
+            return events.stream()
+                    .map(event -> event.substring(3, event.indexOf('\n')))
+                    .toList();
+        }
+    }
+}